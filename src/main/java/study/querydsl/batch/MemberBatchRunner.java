@@ -0,0 +1,152 @@
+package study.querydsl.batch;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.BatchCheckpoint;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.BatchCheckpointRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * member_id 범위를 파티션으로 나눠 워커 스레드에서 청크 단위(짧은 트랜잭션)로 처리
+ * 실패하면 같은 jobName 으로 다시 실행해서 체크포인트부터 이어서 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberBatchRunner {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    public List<PartitionReport> run(String jobName, int partitions, int chunkSize, MemberChunkProcessor processor) {
+        List<BatchCheckpoint> checkpoints = prepareCheckpoints(jobName, partitions);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, checkpoints.size()));
+        try {
+            List<Future<PartitionReport>> futures = new ArrayList<>();
+            for (BatchCheckpoint checkpoint : checkpoints) {
+                futures.add(executor.submit(() -> runPartition(checkpoint.getId(), checkpoint.getPartitionNo(), chunkSize, processor)));
+            }
+
+            List<PartitionReport> reports = new ArrayList<>();
+            for (Future<PartitionReport> future : futures) {
+                reports.add(future.get());
+            }
+            for (PartitionReport report : reports) {
+                log.info("batch[{}] partition={} records={} records/sec={}", jobName,
+                        report.getPartitionNo(), report.getRecords(), String.format("%.1f", report.getRecordsPerSecond()));
+            }
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("batch interrupted: " + jobName, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("batch failed: " + jobName, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //완료 안 된 체크포인트가 있으면 이어서, 없으면 새로 파티션 분할
+    private List<BatchCheckpoint> prepareCheckpoints(String jobName, int partitions) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<BatchCheckpoint> existing = checkpointRepository.findByJobNameOrderByPartitionNo(jobName);
+            List<BatchCheckpoint> remaining = new ArrayList<>();
+            for (BatchCheckpoint checkpoint : existing) {
+                if (!checkpoint.isCompleted()) {
+                    remaining.add(checkpoint);
+                }
+            }
+            if (!remaining.isEmpty()) {
+                log.info("batch[{}] resume {} partitions", jobName, remaining.size());
+                return remaining;
+            }
+            checkpointRepository.deleteAll(existing);
+            checkpointRepository.flush();
+
+            NumberExpression<Long> min = member.id.min();
+            NumberExpression<Long> max = member.id.max();
+            Tuple range = queryFactory
+                    .select(min, max)
+                    .from(member)
+                    .fetchOne();
+            Long minId = range == null ? null : range.get(min);
+            Long maxId = range == null ? null : range.get(max);
+            if (minId == null) {
+                return remaining;
+            }
+
+            long span = maxId - minId + 1;
+            long size = (span + partitions - 1) / partitions;
+            List<BatchCheckpoint> created = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                long start = minId - 1 + size * i;
+                long end = Math.min(maxId, start + size);
+                if (start >= end) {
+                    break;
+                }
+                created.add(checkpointRepository.save(new BatchCheckpoint(jobName, i, start, end)));
+            }
+            return created;
+        });
+    }
+
+    //partitionNo 는 첫 청크가 실패해도 리포트에 남도록 밖에서 받음
+    private PartitionReport runPartition(Long checkpointId, int partitionNo, int chunkSize, MemberChunkProcessor processor) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long startNanos = System.nanoTime();
+        long records = 0;
+        try {
+            while (true) {
+                //청크마다 새 트랜잭션 --> 영속성 컨텍스트도 청크 크기만큼만 유지
+                Integer count = transactionTemplate.execute(status -> {
+                    BatchCheckpoint checkpoint = em.find(BatchCheckpoint.class, checkpointId);
+                    List<Member> chunk = queryFactory
+                            .selectFrom(member)
+                            .where(member.id.gt(checkpoint.getLastProcessedId()),
+                                    member.id.loe(checkpoint.getEndId()))
+                            .orderBy(member.id.asc())
+                            .limit(chunkSize)
+                            .fetch();
+                    if (chunk.isEmpty()) {
+                        checkpoint.complete();
+                        return 0;
+                    }
+                    processor.process(chunk);
+                    checkpoint.advance(chunk.get(chunk.size() - 1).getId(), chunk.size());
+                    return chunk.size();
+                });
+                if (count == null || count == 0) {
+                    break;
+                }
+                records += count;
+            }
+            return new PartitionReport(partitionNo, records, elapsedMillis(startNanos), null);
+        } catch (RuntimeException e) {
+            log.error("batch partition failed. checkpointId={} partition={}", checkpointId, partitionNo, e);
+            return new PartitionReport(partitionNo, records, elapsedMillis(startNanos), e);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,15 @@
+package study.querydsl.batch;
+
+import study.querydsl.entity.Member;
+
+import java.util.List;
+
+/**
+ * 청크 단위 처리 로직. 청크마다 별도 트랜잭션에서 호출됨
+ */
+@FunctionalInterface
+public interface MemberChunkProcessor {
+
+    void process(List<Member> chunk);
+
+}
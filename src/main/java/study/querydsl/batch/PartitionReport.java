@@ -0,0 +1,29 @@
+package study.querydsl.batch;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class PartitionReport {
+
+    private final int partitionNo;
+    private final long records;
+    private final long elapsedMillis;
+    private final Throwable failure;
+
+    PartitionReport(int partitionNo, long records, long elapsedMillis, Throwable failure) {
+        this.partitionNo = partitionNo;
+        this.records = records;
+        this.elapsedMillis = elapsedMillis;
+        this.failure = failure;
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedMillis == 0 ? records : records * 1000.0 / elapsedMillis;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * DB 를 쓰는 엔드포인트 그룹별 bulkhead. 한도를 넘으면 커넥션 풀 앞에서 기다리지 않고 503
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private final Bulkhead bulkhead;
+    private final Counter rejected;
+    private final String acquiredAttribute;
+
+    public AdmissionControlInterceptor(Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        this.bulkhead = bulkhead;
+        this.rejected = meterRegistry.counter("admission.rejected", "group", bulkhead.getName());
+        this.acquiredAttribute = AdmissionControlInterceptor.class.getName() + "." + bulkhead.getName();
+        meterRegistry.gauge("admission.queue.depth", Collections.singletonList(Tag.of("group", bulkhead.getName())),
+                bulkhead, Bulkhead::getQueueDepth);
+        meterRegistry.gauge("admission.in.flight", Collections.singletonList(Tag.of("group", bulkhead.getName())),
+                bulkhead, Bulkhead::getInFlight);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        //비동기 요청의 재디스패치 --> 처음 받은 자리를 그대로 사용, afterCompletion 에서 반납
+        if (request.getAttribute(acquiredAttribute) != null) {
+            return true;
+        }
+        if (!bulkhead.tryAcquire()) {
+            rejected.increment();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "too many requests: " + bulkhead.getName());
+            return false;
+        }
+        request.setAttribute(acquiredAttribute, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(acquiredAttribute) != null) {
+            request.removeAttribute(acquiredAttribute);
+            bulkhead.release();
+        }
+    }
+}
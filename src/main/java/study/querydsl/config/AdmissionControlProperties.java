@@ -0,0 +1,31 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@Component
+@ConfigurationProperties("querydsl.admission")
+public class AdmissionControlProperties {
+
+    //엔드포인트 그룹 이름 -> 설정
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter @Setter
+    public static class Group {
+        private List<String> pathPatterns = new ArrayList<>();
+        //동시 실행 한도
+        private int maxConcurrent = 10;
+        //한도 초과시 대기열 길이, 대기 시간
+        private int queueSize = 10;
+        private Duration maxWait = Duration.ofMillis(50);
+    }
+}
@@ -0,0 +1,78 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import study.querydsl.repository.QueryBudget;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 비동기 엔드포인트의 리포지토리 실행용. 커넥션 풀 크기만큼만 동시에 실행하고 나머지는 제한된 큐에서 대기
+     * 큐가 꽉 차면 TaskRejectedException (503)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor dbExecutor(DataSource dataSource, MeterRegistry meterRegistry,
+                                             @Value("${querydsl.db-executor.queue-capacity:100}") int queueCapacity) {
+        int poolSize = connectionPoolSize(dataSource);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("db-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(queryBudgetPropagation());
+        executor.initialize();
+
+        Gauge.builder("db.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("db.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size()).register(meterRegistry);
+        Gauge.builder("db.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize).register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * dbExecutor 가 Executor 빈이라 부트 기본 applicationTaskExecutor 가 만들어지지 않음 (@ConditionalOnMissingBean(Executor.class))
+     * 그러면 MVC 비동기 (Callable, Flux 스트리밍) 가 SimpleAsyncTaskExecutor 로 떨어지므로 같은 이름으로 직접 등록 (spring.task.execution.* 적용)
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    //요청 스레드의 쿼리 시간 예산을 실행 스레드로 넘김
+    private TaskDecorator queryBudgetPropagation() {
+        return runnable -> {
+            Long deadline = QueryBudget.deadline();
+            return () -> {
+                QueryBudget.restore(deadline);
+                try {
+                    runnable.run();
+                } finally {
+                    QueryBudget.clear();
+                }
+            };
+        };
+    }
+
+    private int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            //기본값 사용
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,19 @@
+package study.querydsl.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.monitoring.JfrHibernateInterceptor;
+import study.querydsl.monitoring.JfrSupport;
+
+@Configuration
+public class JpaConfig {
+
+    //FlushEvent 가 jdk.jfr.Event 를 상속 --> JFR 없는 Java 8 (8u262 전) 에서는 등록 안 함
+    @Bean
+    @ConditionalOnClass(name = JfrSupport.EVENT_CLASS)
+    HibernatePropertiesCustomizer jfrInterceptorCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.interceptor", new JfrHibernateInterceptor());
+    }
+}
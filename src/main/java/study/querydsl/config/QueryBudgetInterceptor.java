@@ -0,0 +1,35 @@
+package study.querydsl.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import study.querydsl.repository.QueryBudget;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration budget = properties.getTimeouts().get(request.getServletPath());
+        if (budget != null) {
+            QueryBudget.start(budget.toMillis());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryBudget.clear();
+    }
+
+    //비동기 요청은 afterCompletion 대신 호출됨 --> 요청 스레드의 예산 정리 (실행 스레드로는 TaskDecorator 가 넘김)
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryBudget.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter @Setter
+@Component
+@ConfigurationProperties("querydsl.query-budget")
+public class QueryBudgetProperties {
+
+    //요청 경로 -> 쿼리 시간 예산
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+}
@@ -0,0 +1,45 @@
+package study.querydsl.config;
+
+import io.h2.r2dbc.H2ConnectionConfiguration;
+import io.h2.r2dbc.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class R2dbcConfig {
+
+    private static final String JDBC_PREFIX = "jdbc:h2:";
+
+    //JDBC 와 같은 H2 DB (tcp / file / mem) 를 R2DBC 로 연결, 스트림마다 새 커넥션을 열지 않도록 풀 사용
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties properties,
+                                            @Value("${querydsl.r2dbc.pool.initial-size:1}") int initialSize,
+                                            @Value("${querydsl.r2dbc.pool.max-size:10}") int maxSize,
+                                            @Value("${querydsl.r2dbc.pool.max-idle-time:30m}") Duration maxIdleTime) {
+        String url = properties.getUrl();
+        if (url == null || !url.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("R2DBC search supports H2 only: " + url);
+        }
+        H2ConnectionConfiguration.Builder builder = H2ConnectionConfiguration.builder()
+                .url(url.substring(JDBC_PREFIX.length()));
+        if (properties.getUsername() != null) {
+            builder.username(properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            builder.password(properties.getPassword());
+        }
+        ConnectionFactory connectionFactory = new H2ConnectionFactory(builder.build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 샤드별 커넥션 풀 (샤드 번호 순서). DataSource 빈으로 등록하면 기본 DataSource 자동 설정이 꺼지므로 묶어서 하나의 빈으로 두고
+ * 종료할 때 풀을 닫음
+ */
+public class ShardDataSources implements DisposableBean {
+
+    private final List<HikariDataSource> dataSources;
+
+    public ShardDataSources(List<HikariDataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    public List<DataSource> getDataSources() {
+        return Collections.unmodifiableList(new ArrayList<>(dataSources));
+    }
+
+    @Override
+    public void destroy() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
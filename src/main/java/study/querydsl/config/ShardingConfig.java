@@ -0,0 +1,68 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import study.querydsl.repository.ShardedMemberRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * querydsl.sharding.enabled=true 일 때만 샤드 DataSource 와 ShardedMemberRepository 등록
+ * 기본 DataSource / JPA 는 그대로 두고 샤드 리포지토리는 별도 빈으로 사용
+ * 샤드에는 JPA ddl-auto 가 없으므로 sharding/schema.sql 로 테이블 생성 (querydsl.sharding.initialize-schema)
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    //max 는 큐가 꽉 찼을 때만 늘어나므로 큐 크기를 제한, 넘치면 TaskRejectedException
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor shardExecutor(ShardingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("shard-");
+        executor.setCorePoolSize(properties.getUrls().size());
+        executor.setMaxPoolSize(properties.getUrls().size() * 4);
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        List<HikariDataSource> dataSources = properties.getUrls().stream()
+                .map(url -> DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(url)
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build())
+                .collect(Collectors.toList());
+        ShardDataSources shards = new ShardDataSources(dataSources);
+        if (properties.isInitializeSchema()) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("sharding/schema.sql"));
+            try {
+                dataSources.forEach(dataSource -> DatabasePopulatorUtils.execute(populator, dataSource));
+            } catch (RuntimeException e) {
+                shards.destroy();
+                throw e;
+            }
+        }
+        return shards;
+    }
+
+    @Bean
+    public ShardedMemberRepository shardedMemberRepository(ShardDataSources shardDataSources,
+                                                           ThreadPoolTaskExecutor shardExecutor) {
+        return new ShardedMemberRepository(shardDataSources.getDataSources(), shardExecutor);
+    }
+}
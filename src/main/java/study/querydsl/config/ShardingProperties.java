@@ -0,0 +1,25 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties("querydsl.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    //샤드 번호 순서대로 (순서가 바뀌면 team_id -> 샤드 매핑이 바뀜)
+    private List<String> urls = new ArrayList<>();
+    private String username = "sa";
+    private String password = "";
+
+    //시작할 때 sharding/schema.sql 실행 (create if not exists)
+    private boolean initializeSchema = true;
+    //샤드 조회 스레드 풀 대기 큐
+    private int queueCapacity = 100;
+}
@@ -0,0 +1,20 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter @Setter
+@Component
+@ConfigurationProperties("querydsl.warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+    //모든 검색 조합을 한 바퀴 도는 것이 1회
+    private int iterations = 50;
+    //반복 횟수를 다 못 채워도 이 시간이 지나면 종료
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,167 @@
+package study.querydsl.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.monitoring.SearchWorkloadRecorder;
+import study.querydsl.repository.MemberTeamViewRepository;
+import study.querydsl.service.MemberSearchService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 배포 직후 첫 요청들이 느린 문제 --> ApplicationReadyEvent 전에 미리 실행
+ * 커넥션 풀 채우기, 검색 조건 16가지 조합 x 검색 경로(v1~v5) 실행 + Jackson 직렬화를 반복해서
+ * HQL 쿼리 플랜 캐시, QueryDSL 직렬화, Jackson serializer, JIT 를 데움
+ * ApplicationRunner 는 Tomcat 이 요청을 받기 시작한 뒤에 실행되므로 (health UP) refresh 중 SmartLifecycle 로 실행
+ * (부트 2.2 는 lifecycle start 가 끝난 뒤 웹서버 커넥터를 염)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "querydsl.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements SmartLifecycle {
+
+    private static final Sort[] SORTS = {
+            Sort.unsorted(),
+            Sort.by("username"),
+            Sort.by(Sort.Direction.DESC, "age"),
+            Sort.by(Sort.Direction.DESC, "memberId")};
+
+    private final WarmUpProperties properties;
+    private final DataSource dataSource;
+    private final JPAQueryFactory queryFactory;
+    private final MemberSearchService memberSearchService;
+    private final MemberTeamViewRepository memberTeamViewRepository;
+    private final ObjectMapper objectMapper;
+    private final SearchWorkloadRecorder workloadRecorder;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        try {
+            warmUp();
+        } catch (SQLException | JsonProcessingException e) {
+            //ApplicationRunner 때와 같이 시작 실패
+            throw new IllegalStateException("warm-up failed", e);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void warmUp() throws SQLException, JsonProcessingException {
+        long start = System.nanoTime();
+        int connections = openConnections();
+        List<MemberSearchCondition> conditions = conditions();
+
+        long deadline = start + properties.getMaxDuration().toNanos();
+        long first = 0;
+        long last = 0;
+        int iteration = 0;
+        while (iteration < properties.getIterations() && System.nanoTime() < deadline) {
+            long iterationStart = System.nanoTime();
+            for (int i = 0; i < conditions.size(); i++) {
+                runAll(conditions.get(i), SORTS[i % SORTS.length]);
+            }
+            last = System.nanoTime() - iterationStart;
+            if (iteration == 0) {
+                first = last;
+            }
+            iteration++;
+        }
+        //인덱스 추천이 warm-up 조회를 실제 워크로드로 보지 않도록
+        workloadRecorder.clear();
+
+        //첫 반복 = 데우기 전 요청 비용, 마지막 반복 = 데운 후 비용
+        int calls = conditions.size() * 5;
+        log.info("warm-up finished in {}ms. connections={}, iterations={}, searches/iteration={}, " +
+                        "first iteration={}ms, last iteration={}ms, saved per request ~{}us",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), connections, iteration, calls,
+                TimeUnit.NANOSECONDS.toMillis(first), TimeUnit.NANOSECONDS.toMillis(last),
+                TimeUnit.NANOSECONDS.toMicros(Math.max(0, first - last) / calls));
+    }
+
+    //v1~v5 와 같은 경로 + 응답 직렬화
+    private void runAll(MemberSearchCondition condition, Sort sort) throws JsonProcessingException {
+        PageRequest pageable = PageRequest.of(0, 20, sort);
+        objectMapper.writeValueAsBytes(memberSearchService.search(condition));
+        objectMapper.writeValueAsBytes(memberSearchService.searchPageSimple(condition, pageable));
+        objectMapper.writeValueAsBytes(memberSearchService.searchPageComplex(condition, pageable));
+        objectMapper.writeValueAsBytes(memberSearchService.searchSlice(condition, pageable));
+        objectMapper.writeValueAsBytes(memberTeamViewRepository.searchPage(condition, pageable));
+    }
+
+    //풀의 최소 커넥션 수만큼 동시에 빌려서 미리 생성
+    private int openConnections() throws SQLException {
+        int size = 1;
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            size = Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle());
+        }
+        List<Connection> opened = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                opened.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+        return opened.size();
+    }
+
+    /**
+     * username / teamName / ageGoe / ageLoe 있고 없고 16가지 조합
+     * 없는 팀명은 쿼리 없이 끝나므로 실제 데이터 값을 사용 (데이터 없으면 임의 값)
+     */
+    private List<MemberSearchCondition> conditions() {
+        Tuple sample = queryFactory
+                .select(member.username, member.age, team.name)
+                .from(member)
+                .join(member.team, team)
+                .orderBy(member.id.asc())
+                .fetchFirst();
+        String username = sample == null ? "warm-up" : sample.get(member.username);
+        String teamName = sample == null ? "warm-up" : sample.get(team.name);
+        int age = sample == null ? 0 : sample.get(member.age);
+
+        List<MemberSearchCondition> conditions = new ArrayList<>();
+        for (int mask = 0; mask < 16; mask++) {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setUsername((mask & 1) != 0 ? username : null);
+            condition.setTeamName((mask & 2) != 0 ? teamName : null);
+            condition.setAgeGoe((mask & 4) != 0 ? age : null);
+            condition.setAgeLoe((mask & 8) != 0 ? age + 10 : null);
+            conditions.add(condition);
+        }
+        return conditions;
+    }
+}
@@ -0,0 +1,39 @@
+package study.querydsl.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetProperties queryBudgetProperties;
+    private final AdmissionControlProperties admissionControlProperties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    //MVC 비동기 실행기를 명시 (dbExecutor 는 리포지토리 실행 전용)
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(queryBudgetProperties))
+                .addPathPatterns("/v*/members", "/async/v*/members");
+
+        admissionControlProperties.getGroups().forEach((name, group) -> {
+            Bulkhead bulkhead = new Bulkhead(name, group.getMaxConcurrent(), group.getQueueSize(),
+                    group.getMaxWait().toMillis());
+            registry.addInterceptor(new AdmissionControlInterceptor(bulkhead, meterRegistry))
+                    .addPathPatterns(group.getPathPatterns())
+                    .order(-1); //예산 계산보다 먼저
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.monitoring.IndexAdvice;
+import study.querydsl.monitoring.IndexAdvisor;
+import study.querydsl.monitoring.SlowQuery;
+import study.querydsl.monitoring.SlowQueryRecorder;
+import study.querydsl.repository.MemberTeamProjector;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final IndexAdvisor indexAdvisor;
+    private final MemberTeamProjector memberTeamProjector;
+
+    @GetMapping("/slow-queries")
+    public List<SlowQuery> slowQueries() {
+        return slowQueryRecorder.getSlowQueries();
+    }
+
+    @DeleteMapping("/slow-queries")
+    public void clearSlowQueries() {
+        slowQueryRecorder.clear();
+    }
+
+    @GetMapping("/index-advice")
+    public List<IndexAdvice> indexAdvice() {
+        return indexAdvisor.advise();
+    }
+
+    //추천된 인덱스 생성
+    @PostMapping("/index-advice/{indexName}")
+    public ResponseEntity<IndexAdvice> applyIndexAdvice(@PathVariable String indexName) {
+        return ResponseEntity.of(indexAdvisor.apply(indexName));
+    }
+
+    //member_team 읽기 테이블 재생성 / 원본과 비교
+    @PostMapping("/member-team/rebuild")
+    public int rebuildMemberTeam() {
+        return memberTeamProjector.rebuild();
+    }
+
+    @GetMapping("/member-team/check")
+    public MemberTeamProjector.Consistency checkMemberTeam() {
+        return memberTeamProjector.check();
+    }
+}
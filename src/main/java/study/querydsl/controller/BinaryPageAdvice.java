@@ -0,0 +1,37 @@
+package study.querydsl.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import study.querydsl.dto.PageEnvelope;
+
+/**
+ * Smile / CBOR 로 응답할 때는 Page, Slice 를 PageEnvelope 로 줄여서 보냄
+ * JSON 응답은 기존 PageImpl 모양 그대로
+ */
+@ControllerAdvice
+public class BinaryPageAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2SmileHttpMessageConverter.class.isAssignableFrom(converterType)
+                || MappingJackson2CborHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Slice) {
+            return PageEnvelope.of((Slice<?>) body);
+        }
+        return body;
+    }
+}
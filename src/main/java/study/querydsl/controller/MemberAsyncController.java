@@ -0,0 +1,53 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.service.MemberSearchService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MemberController 의 비동기 버전. 조회는 dbExecutor 에서 실행되고 Tomcat 스레드는 바로 반환됨
+ * 트랜잭션은 실행 스레드에서 리포지토리 단위로 열림 (DTO 만 반환하므로 지연 로딩 없음)
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemberAsyncController {
+
+    private final MemberSearchService memberSearchService;
+    private final ThreadPoolTaskExecutor dbExecutor;
+
+    @GetMapping("/async/v1/members")
+    public CompletableFuture<List<MemberTeamDto>> searchMemberV1(MemberSearchCondition condition){
+        return CompletableFuture.supplyAsync(() -> memberSearchService.search(condition), dbExecutor);
+    }
+    @GetMapping("/async/v2/members")
+    public CompletableFuture<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable){
+        return CompletableFuture.supplyAsync(() -> memberSearchService.searchPageSimple(condition, pageable), dbExecutor);
+    }
+    @GetMapping("/async/v3/members")
+    public CompletableFuture<Page<MemberTeamDto>> searchMemberV3(MemberSearchCondition condition, Pageable pageable){
+        return CompletableFuture.supplyAsync(() -> memberSearchService.searchPageComplex(condition, pageable), dbExecutor);
+    }
+    @GetMapping("/async/v4/members")
+    public CompletableFuture<Slice<MemberTeamDto>> searchMemberV4(MemberSearchCondition condition, Pageable pageable){
+        return CompletableFuture.supplyAsync(() -> memberSearchService.searchSlice(condition, pageable), dbExecutor);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> rejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("db executor saturated");
+    }
+}
@@ -3,32 +3,62 @@ package study.querydsl.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.repository.MemberJpaRepository;
-import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberProjectionRepository;
+import study.querydsl.repository.MemberTeamViewRepository;
+import study.querydsl.service.MemberSearchService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
-    private final MemberJpaRepository memberJpaRepository;
-    private final MemberRepository memberRepository;
+    private final MemberSearchService memberSearchService;
+    private final MemberTeamViewRepository memberTeamViewRepository;
+    private final MemberProjectionRepository memberProjectionRepository;
 
     @GetMapping("/v1/members")
     public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition){
-        return memberJpaRepository.search(condition);
+        return memberSearchService.search(condition);
     }
     @GetMapping("/v2/members")
     public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable){
-        return memberRepository.searchPageSimple(condition,pageable);
+        return memberSearchService.searchPageSimple(condition,pageable);
     }
     @GetMapping("/v3/members")
     public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,Pageable pageable){
-        return memberRepository.searchPageComplex(condition,pageable);
+        return memberSearchService.searchPageComplex(condition,pageable);
+    }
+    @GetMapping("/v4/members")
+    public Slice<MemberTeamDto> searchMemberV4(MemberSearchCondition condition, Pageable pageable){
+        return memberSearchService.searchSlice(condition,pageable);
+    }
+    //member_team 읽기 테이블 (조인 없음)
+    @GetMapping("/v5/members")
+    public Page<MemberTeamDto> searchMemberV5(MemberSearchCondition condition, Pageable pageable){
+        return memberTeamViewRepository.searchPage(condition,pageable);
+    }
+
+    //?fields=memberId,username --> 요청한 필드만 select
+    @GetMapping(value = "/v1/members", params = "fields")
+    public List<Map<String, Object>> searchMemberV1Fields(MemberSearchCondition condition, @RequestParam List<String> fields){
+        return memberProjectionRepository.search(condition,fields);
+    }
+    @GetMapping(value = {"/v2/members", "/v3/members"}, params = "fields")
+    public Page<Map<String, Object>> searchMemberV3Fields(MemberSearchCondition condition, Pageable pageable,
+                                                          @RequestParam List<String> fields){
+        return memberProjectionRepository.searchPage(condition,pageable,fields);
+    }
+    @GetMapping(value = "/v4/members", params = "fields")
+    public Slice<Map<String, Object>> searchMemberV4Fields(MemberSearchCondition condition, Pageable pageable,
+                                                           @RequestParam List<String> fields){
+        return memberProjectionRepository.searchSlice(condition,pageable,fields);
     }
 }
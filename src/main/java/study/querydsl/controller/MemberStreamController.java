@@ -0,0 +1,25 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberReactiveRepository;
+
+/**
+ * 회원 검색 스트리밍 (SSE / 줄 단위 JSON). 한 건 쓰고 나서 다음 건을 요청하므로 느린 클라이언트에도 메모리 일정
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemberStreamController {
+
+    private final MemberReactiveRepository memberReactiveRepository;
+
+    @GetMapping(value = "/stream/members", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_STREAM_JSON_VALUE})
+    public Flux<MemberTeamDto> streamMembers(MemberSearchCondition condition) {
+        return memberReactiveRepository.search(condition);
+    }
+}
@@ -0,0 +1,27 @@
+package study.querydsl.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class QueryTimeoutAdvice {
+
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler({QueryTimeoutException.class, javax.persistence.QueryTimeoutException.class})
+    public ResponseEntity<String> queryTimeout(HttpServletRequest request, Exception e) {
+        meterRegistry.counter("member.search.timeouts", "uri", request.getServletPath()).increment();
+        log.warn("query timeout. uri={} message={}", request.getServletPath(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("query timeout");
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import study.querydsl.repository.UnsupportedFieldException;
+import study.querydsl.repository.UnsupportedSortException;
+
+/**
+ * 잘못된 검색 요청 (허용하지 않는 정렬, fields) --> 400
+ */
+@RestControllerAdvice
+public class SearchRequestAdvice {
+
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ResponseEntity<String> unsupportedSort(UnsupportedSortException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedFieldException.class)
+    public ResponseEntity<String> unsupportedField(UnsupportedFieldException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
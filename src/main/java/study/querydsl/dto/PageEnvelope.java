@@ -0,0 +1,41 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 바이너리 응답용 페이지 (PageImpl 의 pageable / sort 등 메타데이터 제외)
+ * Slice 는 totalElements, totalPages 없음
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageEnvelope<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+    private final Long totalElements;
+    private final Integer totalPages;
+
+    private PageEnvelope(Slice<T> slice, Long totalElements, Integer totalPages) {
+        this.content = slice.getContent();
+        this.page = slice.getNumber();
+        this.size = slice.getSize();
+        this.hasNext = slice.hasNext();
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    public static <T> PageEnvelope<T> of(Slice<T> slice) {
+        if (slice instanceof Page) {
+            Page<T> page = (Page<T>) slice;
+            return new PageEnvelope<>(slice, page.getTotalElements(), page.getTotalPages());
+        }
+        return new PageEnvelope<>(slice, null, null);
+    }
+}
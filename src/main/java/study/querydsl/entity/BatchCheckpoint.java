@@ -0,0 +1,50 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+
+/**
+ * 배치 파티션별 진행 위치 (실패 후 재시작시 lastProcessedId 다음부터 처리)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"jobName", "partitionNo", "startId", "endId", "lastProcessedId", "completed"})
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"jobName", "partitionNo"}))
+public class BatchCheckpoint {
+
+    @Id @GeneratedValue
+    @Column(name = "checkpoint_id")
+    private Long id;
+
+    private String jobName;
+    private int partitionNo;
+
+    //(startId, endId] 범위
+    private Long startId;
+    private Long endId;
+    private Long lastProcessedId;
+    private long processedCount;
+    private boolean completed;
+
+    public BatchCheckpoint(String jobName, int partitionNo, Long startId, Long endId) {
+        this.jobName = jobName;
+        this.partitionNo = partitionNo;
+        this.startId = startId;
+        this.endId = endId;
+        this.lastProcessedId = startId;
+    }
+
+    public void advance(Long lastProcessedId, int count) {
+        this.lastProcessedId = lastProcessedId;
+        this.processedCount += count;
+    }
+
+    public void complete() {
+        this.completed = true;
+    }
+}
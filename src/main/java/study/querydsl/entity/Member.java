@@ -1,6 +1,8 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+
 import javax.persistence.*;
 
 
@@ -8,6 +10,10 @@ import javax.persistence.*;
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+@EntityListeners({MemberUsernameListener.class, MemberTeamViewListener.class})
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username, member_id"),
+        @Index(name = "idx_member_age", columnList = "age, member_id")})
 public class Member {
 
     @Id @GeneratedValue
@@ -37,6 +43,9 @@ public class Member {
     }
     public void changeTeam(Team team) {
         this.team = team;
-        team.getMembers().add(this);
+        //이미 로딩된 컬렉션일 때만 추가 --> 지연 로딩 members 를 초기화하지 않음
+        if (Hibernate.isInitialized(team.getMembers())) {
+            team.getMembers().add(this);
+        }
     }
 }
\ No newline at end of file
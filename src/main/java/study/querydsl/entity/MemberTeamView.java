@@ -0,0 +1,43 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * 조회 전용 member + team 비정규화 테이블 (MemberTeamDto 와 같은 모양)
+ * JPA 로 쓰지 않고 MemberTeamProjector 가 member / team 변경을 커밋 직전에 SQL 로 반영
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Table(name = "member_team", indexes = {
+        @Index(name = "idx_member_team_username", columnList = "username, member_id"),
+        @Index(name = "idx_member_team_team_name", columnList = "team_name, member_id"),
+        @Index(name = "idx_member_team_age", columnList = "age, member_id"),
+        @Index(name = "idx_member_team_team_id", columnList = "team_id")})
+public class MemberTeamView {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private String username;
+    private int age;
+
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "team_name")
+    private String teamName;
+}
@@ -0,0 +1,31 @@
+package study.querydsl.entity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.MemberTeamProjector;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * 회원 저장/변경(changeTeam 포함)/삭제를 member_team 반영 대상으로 등록
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberTeamViewListener {
+
+    private final ObjectProvider<MemberTeamProjector> projector;
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Member member) {
+        projector.ifAvailable(p -> p.memberChanged(member.getId()));
+    }
+
+    @PostRemove
+    public void removed(Member member) {
+        projector.ifAvailable(p -> p.memberRemoved(member.getId()));
+    }
+}
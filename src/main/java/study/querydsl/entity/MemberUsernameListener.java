@@ -0,0 +1,27 @@
+package study.querydsl.entity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.UsernameFilter;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+
+/**
+ * 회원 저장/이름 변경시 username filter 에 반영 (SpringBeanContainer 로 주입됨)
+ * 커밋 전에 호출되므로 필터에는 커밋 후에 넣음 (커밋 전에 시작한 재생성 스냅샷에 빠지는 것 방지)
+ * 리스너는 EntityManagerFactory 생성중에 만들어지므로 UsernameFilter 는 사용 시점에 가져옴
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberUsernameListener {
+
+    private final ObjectProvider<UsernameFilter> usernameFilter;
+
+    @PostPersist
+    @PostUpdate
+    public void added(Member member) {
+        usernameFilter.ifAvailable(filter -> filter.putAfterCommit(member.getUsername()));
+    }
+}
@@ -0,0 +1,42 @@
+package study.querydsl.entity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.repository.MemberTeamProjector;
+import study.querydsl.repository.TeamIdResolver;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * 팀 생성/이름 변경/삭제시 team name -> id 캐시 비움
+ * 커밋 전에 다른 스레드가 옛 값으로 다시 채울 수 있어서 커밋 후에도 한번 더 비움
+ * 이름 변경/삭제는 member_team 의 team_name 에도 반영
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamChangeListener {
+
+    private final ObjectProvider<TeamIdResolver> teamIdResolver;
+    private final ObjectProvider<MemberTeamProjector> projector;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Team team) {
+        teamIdResolver.ifAvailable(TeamIdResolver::evictAll);
+        projector.ifAvailable(p -> p.teamChanged(team.getId()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    teamIdResolver.ifAvailable(TeamIdResolver::evictAll);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package study.querydsl.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("study.querydsl.Flush")
+@Label("Hibernate Flush")
+@Category({"QueryDSL", "Persistence Context"})
+@Description("Session flush with the number of managed entities in the persistence context")
+@StackTrace(false)
+public class FlushEvent extends Event {
+
+    @Label("Managed Entities")
+    long managedEntities;
+}
@@ -0,0 +1,35 @@
+package study.querydsl.monitoring;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class IndexAdvice {
+
+    private final String indexName;
+    private final String table;
+    private final List<String> columns;
+    //이 인덱스를 쓸 수 있는 조건 모양들
+    private final List<String> shapes = new ArrayList<>();
+    private long calls;
+    //해당 모양들의 누적 시간 --> 인덱스로 줄일 수 있는 시간의 상한
+    private double estimatedSavedMillis;
+
+    IndexAdvice(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+        this.indexName = ("idx_advice_" + table + "_" + String.join("_", columns)).toLowerCase();
+    }
+
+    void add(SearchWorkloadRecorder.ShapeStats stats) {
+        shapes.add(stats.getShape());
+        calls += stats.getCount();
+        estimatedSavedMillis += stats.getTotalMillis();
+    }
+
+    public String getDdl() {
+        return "create index if not exists " + indexName + " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+}
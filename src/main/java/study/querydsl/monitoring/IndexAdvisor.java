@@ -0,0 +1,107 @@
+package study.querydsl.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 실제 들어온 검색 조건 모양별 빈도/시간으로 복합 인덱스를 추천
+ * 등치 조건 컬럼 먼저, 범위 조건(age) 마지막. 이미 같은 prefix 의 인덱스가 있으면 제외
+ */
+@Component
+@RequiredArgsConstructor
+public class IndexAdvisor {
+
+    private final SearchWorkloadRecorder workloadRecorder;
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<IndexAdvice> advise() {
+        Map<String, List<List<String>>> existing = existingIndexes();
+
+        Map<String, IndexAdvice> advices = new LinkedHashMap<>();
+        for (SearchWorkloadRecorder.ShapeStats stats : workloadRecorder.snapshot()) {
+            for (List<String> candidate : candidates(stats.getShape())) {
+                String table = candidate.get(0);
+                List<String> columns = candidate.subList(1, candidate.size());
+                if (isCovered(existing.getOrDefault(table, Collections.emptyList()), columns)) {
+                    continue;
+                }
+                advices.computeIfAbsent(table + columns, key -> new IndexAdvice(table, new ArrayList<>(columns)))
+                        .add(stats);
+            }
+        }
+
+        List<IndexAdvice> result = new ArrayList<>(advices.values());
+        result.sort(Comparator.comparingDouble(IndexAdvice::getEstimatedSavedMillis).reversed());
+        return result;
+    }
+
+    public Optional<IndexAdvice> apply(String indexName) {
+        Optional<IndexAdvice> advice = advise().stream()
+                .filter(a -> a.getIndexName().equalsIgnoreCase(indexName))
+                .findFirst();
+        advice.ifPresent(a -> jdbcTemplate.execute(a.getDdl()));
+        return advice;
+    }
+
+    //[테이블, 컬럼...] 목록
+    private List<List<String>> candidates(String shape) {
+        List<String> fields = Arrays.asList(shape.split("\\+"));
+        List<String> memberColumns = new ArrayList<>();
+        memberColumns.add("member");
+        if (fields.contains("username")) {
+            memberColumns.add("username");
+        }
+        if (fields.contains("teamName")) {
+            memberColumns.add("team_id");
+        }
+        if (fields.contains("ageGoe") || fields.contains("ageLoe")) {
+            memberColumns.add("age");
+        }
+
+        List<List<String>> candidates = new ArrayList<>();
+        if (memberColumns.size() > 1) {
+            candidates.add(memberColumns);
+        }
+        if (fields.contains("teamName")) {
+            candidates.add(Arrays.asList("team", "name"));
+        }
+        return candidates;
+    }
+
+    private boolean isCovered(List<List<String>> indexes, List<String> columns) {
+        for (List<String> index : indexes) {
+            if (index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //테이블 -> 인덱스별 컬럼 목록 (소문자)
+    private Map<String, List<List<String>>> existingIndexes() {
+        Map<String, Map<String, List<String>>> byIndex = new HashMap<>();
+        jdbcTemplate.query(
+                "select table_name, index_name, column_name from information_schema.indexes" +
+                        " where table_schema = schema() order by table_name, index_name, ordinal_position",
+                rs -> {
+                    byIndex.computeIfAbsent(rs.getString(1).toLowerCase(), t -> new LinkedHashMap<>())
+                            .computeIfAbsent(rs.getString(2), i -> new ArrayList<>())
+                            .add(rs.getString(3).toLowerCase());
+                });
+
+        Map<String, List<List<String>>> result = new HashMap<>();
+        byIndex.forEach((table, indexes) -> result.put(table, new ArrayList<>(indexes.values())));
+        return result;
+    }
+}
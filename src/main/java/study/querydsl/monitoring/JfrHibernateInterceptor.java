@@ -0,0 +1,44 @@
+package study.querydsl.monitoring;
+
+import org.hibernate.EmptyInterceptor;
+
+import java.util.Iterator;
+
+/**
+ * flush 시간과 flush 시점 영속성 컨텍스트 크기를 JFR 이벤트로 남김
+ * session factory 범위 인터셉터라 진행중인 이벤트는 스레드별로 보관
+ */
+public class JfrHibernateInterceptor extends EmptyInterceptor {
+
+    private static final ThreadLocal<FlushEvent> CURRENT = new ThreadLocal<>();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void preFlush(Iterator entities) {
+        FlushEvent event = new FlushEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            CURRENT.set(event);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void postFlush(Iterator entities) {
+        FlushEvent event = CURRENT.get();
+        if (event == null) {
+            return;
+        }
+        CURRENT.remove();
+        event.end();
+        if (event.shouldCommit()) {
+            long count = 0;
+            while (entities.hasNext()) {
+                entities.next();
+                count++;
+            }
+            event.managedEntities = count;
+            event.commit();
+        }
+    }
+}
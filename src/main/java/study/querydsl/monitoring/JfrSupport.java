@@ -0,0 +1,21 @@
+package study.querydsl.monitoring;
+
+/**
+ * 실행중인 JVM 에 jdk.jfr 가 있는지 (Java 8 은 8u262 부터)
+ */
+public class JfrSupport {
+
+    public static final String EVENT_CLASS = "jdk.jfr.Event";
+
+    private JfrSupport() {
+    }
+
+    public static boolean isAvailable() {
+        try {
+            Class.forName(EVENT_CLASS, false, JfrSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
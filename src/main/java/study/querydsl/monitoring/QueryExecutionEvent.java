@@ -0,0 +1,32 @@
+package study.querydsl.monitoring;
+
+/**
+ * 리포지토리 쿼리 실행 구간. Server-Timing 용 시간을 재고, JFR 이 있으면 QueryExecutionJfrEvent 도 남김
+ * jdk.jfr 는 8u262 전 Java 8 에 없으므로 이 클래스는 jdk.jfr 를 직접 참조하지 않음
+ */
+public class QueryExecutionEvent {
+
+    private static final boolean JFR_AVAILABLE = JfrSupport.isAvailable();
+
+    private final String name;
+    private final long startNanos;
+    private final QueryExecutionJfrEvent jfrEvent;
+
+    private QueryExecutionEvent(String name, long startNanos, QueryExecutionJfrEvent jfrEvent) {
+        this.name = name;
+        this.startNanos = startNanos;
+        this.jfrEvent = jfrEvent;
+    }
+
+    public static QueryExecutionEvent start(String query, String predicateShape) {
+        return new QueryExecutionEvent(query, System.nanoTime(),
+                JFR_AVAILABLE ? QueryExecutionJfrEvent.begin(query, predicateShape) : null);
+    }
+
+    public void end(long rows) {
+        RequestTiming.query(name, System.nanoTime() - startNanos);
+        if (jfrEvent != null) {
+            jfrEvent.end(rows);
+        }
+    }
+}
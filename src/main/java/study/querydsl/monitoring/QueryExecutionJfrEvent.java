@@ -0,0 +1,44 @@
+package study.querydsl.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("study.querydsl.QueryExecution")
+@Label("QueryDSL Query Execution")
+@Category({"QueryDSL", "Repository"})
+@Description("Repository query execution with predicate shape and row count")
+@StackTrace(false)
+public class QueryExecutionJfrEvent extends Event {
+
+    @Label("Query")
+    private String query;
+
+    @Label("Predicate Shape")
+    private String predicateShape;
+
+    @Label("Rows")
+    private long rows;
+
+    static QueryExecutionJfrEvent begin(String query, String predicateShape) {
+        QueryExecutionJfrEvent event = new QueryExecutionJfrEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.query = query;
+        event.predicateShape = predicateShape;
+        event.begin();
+        return event;
+    }
+
+    void end(long rows) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package study.querydsl.monitoring;
+
+import java.util.Locale;
+
+/**
+ * 요청 단위 DB 비용 수집 (Server-Timing 헤더용)
+ * ServerTimingFilter 가 켜져 있을 때만 생성되고, 없으면 모든 기록이 ThreadLocal 조회 한번으로 끝남
+ */
+public class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private long contentQueryNanos;
+    private long countQueryNanos;
+    private long connectionNanos;
+    private int statements;
+    private long serializationStartNanos;
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void query(String query, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        if (query.endsWith(".count")) {
+            timing.countQueryNanos += nanos;
+        } else {
+            timing.contentQueryNanos += nanos;
+        }
+    }
+
+    public static void connection(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.connectionNanos += nanos;
+        }
+    }
+
+    public static void statement() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.statements++;
+        }
+    }
+
+    public static void serializationStarted() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.serializationStartNanos == 0) {
+            timing.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    public String toHeader(long serializationEndNanos) {
+        StringBuilder header = new StringBuilder();
+        metric(header, "db-content", contentQueryNanos);
+        metric(header, "db-count", countQueryNanos);
+        metric(header, "db-conn", connectionNanos);
+        if (serializationStartNanos != 0) {
+            metric(header, "serialize", serializationEndNanos - serializationStartNanos);
+        }
+        header.append(", db-stmt;desc=\"").append(statements).append('"');
+        return header.toString();
+    }
+
+    private static void metric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        //기본 Locale 이 de_DE 등이면 "12,34" 가 되어 헤더의 ',' 구분자와 섞임
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
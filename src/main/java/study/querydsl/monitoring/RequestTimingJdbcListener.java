@@ -0,0 +1,25 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * 요청별 커넥션 획득 시간, 실행된 statement 수 (RequestTiming 이 없으면 아무것도 안함)
+ */
+@Component
+public class RequestTimingJdbcListener extends JdbcEventListener {
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        RequestTiming.connection(connectionInformation.getTimeToGetConnectionNs());
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        RequestTiming.statement();
+    }
+}
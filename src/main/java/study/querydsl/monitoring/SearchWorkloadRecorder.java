@@ -0,0 +1,60 @@
+package study.querydsl.monitoring;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검색 조건 모양(SearchShape)별 호출 횟수와 누적 시간
+ */
+@Component
+public class SearchWorkloadRecorder {
+
+    private final ConcurrentMap<String, ShapeStats> stats = new ConcurrentHashMap<>();
+
+    public void record(String shape, long startNanos) {
+        stats.computeIfAbsent(shape, ShapeStats::new).add(System.nanoTime() - startNanos);
+    }
+
+    public List<ShapeStats> snapshot() {
+        return new ArrayList<>(stats.values());
+    }
+
+    public void clear() {
+        stats.clear();
+    }
+
+    public static class ShapeStats {
+        @Getter
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1_000_000.0;
+        }
+
+        public double getAvgMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : getTotalMillis() / n;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package study.querydsl.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 회원 API 응답에 Server-Timing 헤더 (content/count 쿼리, 커넥션 획득, 직렬화 시간, statement 수)
+ * 직렬화가 끝난 뒤 헤더를 쓰기 위해 응답 본문을 버퍼링하므로 querydsl.server-timing.enabled=true 일 때만 등록
+ */
+@Component
+@ConditionalOnProperty(name = "querydsl.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !PATH_MATCHER.match("/v*/members", request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.start();
+        try {
+            filterChain.doFilter(request, wrapper);
+            wrapper.setHeader("Server-Timing", timing.toHeader(System.nanoTime()));
+        } finally {
+            RequestTiming.clear();
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package study.querydsl.monitoring;
+
+import lombok.Getter;
+
+/**
+ * 같은 SQL 모양(바인드 값 제외)으로 묶인 느린 쿼리
+ */
+@Getter
+public class SlowQuery {
+
+    private final String sql;
+    private String lastSqlWithValues;
+    private long count;
+    private long lastMillis;
+    private long maxMillis;
+    private String plan;
+
+    SlowQuery(String sql) {
+        this.sql = sql;
+    }
+
+    synchronized void record(String sqlWithValues, long millis) {
+        this.lastSqlWithValues = sqlWithValues;
+        this.lastMillis = millis;
+        this.maxMillis = Math.max(maxMillis, millis);
+        this.count++;
+    }
+
+    synchronized void plan(String plan) {
+        this.plan = plan;
+    }
+
+    synchronized SlowQuery copy() {
+        SlowQuery copy = new SlowQuery(sql);
+        copy.lastSqlWithValues = lastSqlWithValues;
+        copy.count = count;
+        copy.lastMillis = lastMillis;
+        copy.maxMillis = maxMillis;
+        copy.plan = plan;
+        return copy;
+    }
+}
@@ -0,0 +1,127 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * p6spy 로 실행된 SQL 중 threshold 를 넘긴 것을 SQL 모양별로 모아둠 (최대 maxEntries 개, 오래된 것부터 밀려남)
+ * select 는 모양별로 처음 한번 별도 스레드에서 H2 EXPLAIN ANALYZE 결과를 붙임
+ */
+@Slf4j
+@Component
+public class SlowQueryRecorder extends JdbcEventListener {
+
+    //EXPLAIN 자체가 다시 기록되지 않게
+    private static final ThreadLocal<Boolean> EXPLAINING = new ThreadLocal<>();
+
+    private final long thresholdNanos;
+    private final Map<String, SlowQuery> queries;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ExecutorService explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(100), new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryRecorder(@Value("${querydsl.slow-query.threshold:200ms}") Duration threshold,
+                             @Value("${querydsl.slow-query.max-entries:100}") int maxEntries,
+                             ObjectProvider<DataSource> dataSource) {
+        this.thresholdNanos = threshold.toNanos();
+        this.dataSource = dataSource;
+        this.queries = new LinkedHashMap<String, SlowQuery>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SlowQuery> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos || EXPLAINING.get() != null) {
+            return;
+        }
+        String sql = normalize(statementInformation.getSql());
+        String sqlWithValues = statementInformation.getSqlWithValues();
+        long millis = TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos);
+
+        SlowQuery slowQuery;
+        boolean first;
+        synchronized (queries) {
+            slowQuery = queries.get(sql);
+            first = slowQuery == null;
+            if (first) {
+                slowQuery = new SlowQuery(sql);
+                queries.put(sql, slowQuery);
+            }
+        }
+        slowQuery.record(sqlWithValues, millis);
+        log.warn("slow query {}ms: {}", millis, sqlWithValues);
+
+        if (first && sql.regionMatches(true, 0, "select", 0, 6)) {
+            SlowQuery target = slowQuery;
+            explainExecutor.execute(() -> target.plan(explain(sqlWithValues)));
+        }
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> result = new ArrayList<>();
+        synchronized (queries) {
+            for (SlowQuery slowQuery : queries.values()) {
+                result.add(slowQuery.copy());
+            }
+        }
+        result.sort(Comparator.comparingLong(SlowQuery::getMaxMillis).reversed());
+        return result;
+    }
+
+    public void clear() {
+        synchronized (queries) {
+            queries.clear();
+        }
+    }
+
+    private String explain(String sqlWithValues) {
+        EXPLAINING.set(Boolean.TRUE);
+        try (Connection connection = dataSource.getObject().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN ANALYZE " + sqlWithValues)) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "explain failed: " + e.getMessage();
+        } finally {
+            EXPLAINING.remove();
+        }
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import study.querydsl.entity.BatchCheckpoint;
+
+import java.util.List;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, Long> {
+
+    List<BatchCheckpoint> findByJobNameOrderByPartitionNo(String jobName);
+
+}
@@ -0,0 +1,39 @@
+package study.querydsl.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * IN 절 파라미터를 chunkSize 단위로 나누고 마지막 조각은 2의 거듭제곱 길이로 채움 (마지막 값 반복)
+ * 목록 길이마다 다른 쿼리 플랜이 생기지 않도록 --> 플랜 종류는 chunkSize 까지의 2의 거듭제곱 개수로 제한
+ */
+class InClause {
+
+    private InClause() {
+    }
+
+    //null, 중복 제거
+    static <T> List<List<T>> paddedChunks(Collection<T> keys, int chunkSize) {
+        if (Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("chunkSize must be a power of two: " + chunkSize);
+        }
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        distinct.removeIf(Objects::isNull);
+
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<T> chunk = new ArrayList<>(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+            int padded = Integer.highestOneBit(chunk.size()) == chunk.size()
+                    ? chunk.size() : Integer.highestOneBit(chunk.size()) << 1;
+            T last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < padded) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
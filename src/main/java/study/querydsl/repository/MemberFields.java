@@ -0,0 +1,69 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * ?fields=memberId,username 처럼 요청한 MemberTeamDto 필드만 select
+ * teamId 는 member.team_id 컬럼이라 조인 불필요, teamName 을 요청할 때만 team 조인
+ */
+class MemberFields {
+
+    private static final Map<String, Expression<?>> SELECTABLE = new LinkedHashMap<>();
+
+    static {
+        SELECTABLE.put("memberId", member.id);
+        SELECTABLE.put("username", member.username);
+        SELECTABLE.put("age", member.age);
+        SELECTABLE.put("teamId", member.team.id);
+        SELECTABLE.put("teamName", team.name);
+    }
+
+    //요청 순서 유지, 중복 제거
+    private final Map<String, Expression<?>> selected = new LinkedHashMap<>();
+
+    private MemberFields() {
+    }
+
+    static MemberFields of(Collection<String> fields) {
+        MemberFields result = new MemberFields();
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            Expression<?> expression = SELECTABLE.get(name);
+            if (expression == null) {
+                throw new UnsupportedFieldException("unsupported field: " + name);
+            }
+            result.selected.put(name, expression);
+        }
+        if (result.selected.isEmpty()) {
+            throw new UnsupportedFieldException("at least one field is required");
+        }
+        return result;
+    }
+
+    Expression<?>[] expressions() {
+        return selected.values().toArray(new Expression<?>[0]);
+    }
+
+    boolean needsTeamJoin() {
+        return selected.containsKey("teamName");
+    }
+
+    Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (Map.Entry<String, Expression<?>> entry : selected.entrySet()) {
+            row.put(entry.getKey(), tuple.get(entry.getValue()));
+        }
+        return row;
+    }
+}
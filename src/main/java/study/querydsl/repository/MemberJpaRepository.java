@@ -6,6 +6,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
@@ -13,22 +14,29 @@ import study.querydsl.dto.QMemberDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
+import study.querydsl.monitoring.QueryExecutionEvent;
+import study.querydsl.monitoring.SearchWorkloadRecorder;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
 import static org.hibernate.annotations.common.util.StringHelper.isEmpty;
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.*;
 import static study.querydsl.entity.QTeam.team;
 
 @Repository
+@Transactional(readOnly = true) //조회 트랜잭션은 FlushMode.MANUAL --> flush, dirty checking 생략
 @RequiredArgsConstructor
 public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final SearchWorkloadRecorder workloadRecorder;
+    private final UsernameFilter usernameFilter;
 
 //    @Autowired
 //    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory) {
@@ -36,6 +44,7 @@ public class MemberJpaRepository {
 //        this.queryFactory = queryFactory;
 //    }
 
+    @Transactional
     public void save(Member member) {
         em.persist(member);
     }
@@ -47,26 +56,43 @@ public class MemberJpaRepository {
 
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
+                .setHint(READ_ONLY, true) //스냅샷 안 만듬
                 .getResultList();
     }
 
     public List<Member> findAll_Querydsl() {
-        return queryFactory
-                .selectFrom(member).fetch();
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberJpaRepository.findAll_Querydsl", "none");
+        List<Member> result = queryFactory
+                .selectFrom(member)
+                .setHint(READ_ONLY, true)
+                .fetch();
+        event.end(result.size());
+        return result;
     }
 
 
     public List<Member> findByUsername(String username) {
+        if (!usernameFilter.mightExist(username)) {
+            return new ArrayList<>();
+        }
         return em.createQuery("select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
+                .setHint(READ_ONLY, true)
                 .getResultList();
     }
 
     public List<Member> findByUsername_Querydsl(String username) {
-        return queryFactory
+        if (!usernameFilter.mightExist(username)) {
+            return new ArrayList<>();
+        }
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberJpaRepository.findByUsername_Querydsl", "username");
+        List<Member> result = queryFactory
                 .selectFrom(member)
                 .where(member.username.eq(username))
+                .setHint(READ_ONLY, true)
                 .fetch();
+        event.end(result.size());
+        return result;
     }
 
     //동적쿼리
@@ -89,7 +115,8 @@ public class MemberJpaRepository {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
 
-        return queryFactory
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberJpaRepository.searchByBuilder", SearchShape.of(condition));
+        List<MemberTeamDto> result = QueryBudget.apply(queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -98,13 +125,18 @@ public class MemberJpaRepository {
                         team.name))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(builder)
+                .where(builder))
                 .fetch();
+        event.end(result.size());
+        return result;
     }
 
     //회원명, 팀명, 나이(ageGoe, ageLoe)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        long start = System.nanoTime();
+        String shape = SearchShape.of(condition);
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberJpaRepository.search", shape);
+        List<MemberTeamDto> result = QueryBudget.apply(queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -116,8 +148,11 @@ public class MemberJpaRepository {
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                        ageLoe(condition.getAgeLoe())))
                 .fetch();
+        event.end(result.size());
+        workloadRecorder.record(shape, start);
+        return result;
     }
     private BooleanExpression usernameEq(String username) {
         return isEmpty(username) ? null : member.username.eq(username);
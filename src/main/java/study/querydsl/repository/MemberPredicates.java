@@ -0,0 +1,43 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+
+import static ch.qos.logback.core.util.OptionHelper.isEmpty;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * MemberSearchCondition 필드별 where 조건. 값이 없으면 null (where 에서 무시됨)
+ * MemberRepositoryImpl, MemberProjectionRepository 공용
+ */
+final class MemberPredicates {
+
+    private MemberPredicates() {
+    }
+
+    static BooleanExpression usernameEq(String username) {
+        return isEmpty(username) ? null : member.username.eq(username);
+    }
+
+    static BooleanExpression teamNameEq(String teamName) {
+        return isEmpty(teamName) ? null : team.name.eq(teamName);
+    }
+
+    //teamName -> team_id 로 바꾼 조건 (team 조인 불필요)
+    static BooleanExpression teamIdIn(TeamIdResolver teamIdResolver, String teamName) {
+        return isEmpty(teamName) ? null : member.team.id.in(teamIdResolver.resolve(teamName));
+    }
+
+    //일치하는 팀이 없으면 쿼리 없이 빈 결과
+    static boolean noSuchTeam(TeamIdResolver teamIdResolver, String teamName) {
+        return !isEmpty(teamName) && teamIdResolver.resolve(teamName).isEmpty();
+    }
+
+    static BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+
+    static BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+}
@@ -0,0 +1,125 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.monitoring.QueryExecutionEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.MemberPredicates.*;
+
+/**
+ * 요청한 필드만 select 하는 회원 검색 (?fields=memberId,username)
+ * 조건/정렬/페이징은 MemberRepositoryImpl 과 동일, teamName 을 select 하지 않으면 team 조인 없이 team_id 로 거름
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberProjectionRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final TeamIdResolver teamIdResolver;
+
+    public List<Map<String, Object>> search(MemberSearchCondition condition, Collection<String> fieldNames) {
+        MemberFields fields = MemberFields.of(fieldNames);
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new ArrayList<>();
+        }
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberProjectionRepository.search", SearchShape.of(condition));
+        List<Tuple> result = QueryBudget.apply(contentQuery(condition, fields)).fetch();
+        event.end(result.size());
+        return toMaps(result, fields);
+    }
+
+    public Page<Map<String, Object>> searchPage(MemberSearchCondition condition, Pageable pageable,
+                                                Collection<String> fieldNames) {
+        MemberFields fields = MemberFields.of(fieldNames);
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        String shape = SearchShape.of(condition);
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberProjectionRepository.searchPage", shape);
+        List<Tuple> content = QueryBudget.apply(contentQuery(condition, fields)
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize()))
+                .fetch();
+        event.end(content.size());
+
+        //카운트는 항상 조인 없이
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.id)
+                .from(member)
+                .where(usernameEq(condition.getUsername()),
+                        teamIdIn(teamIdResolver, condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+        return PageableExecutionUtils.getPage(toMaps(content, fields), pageable, () -> {
+            QueryExecutionEvent countEvent = QueryExecutionEvent.start("MemberProjectionRepository.searchPage.count", shape);
+            long total = QueryBudget.apply(countQuery).fetchCount();
+            countEvent.end(1);
+            return total;
+        });
+    }
+
+    public Slice<Map<String, Object>> searchSlice(MemberSearchCondition condition, Pageable pageable,
+                                                  Collection<String> fieldNames) {
+        MemberFields fields = MemberFields.of(fieldNames);
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new SliceImpl<>(new ArrayList<>(), pageable, false);
+        }
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberProjectionRepository.searchSlice", SearchShape.of(condition));
+        List<Tuple> content = QueryBudget.apply(contentQuery(condition, fields)
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1))
+                .fetch();
+        event.end(content.size());
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(toMaps(content, fields), pageable, hasNext);
+    }
+
+    private JPAQuery<Tuple> contentQuery(MemberSearchCondition condition, MemberFields fields) {
+        JPAQuery<Tuple> query = queryFactory
+                .select(fields.expressions())
+                .from(member);
+        if (fields.needsTeamJoin()) {
+            return query
+                    .leftJoin(member.team, team)
+                    .where(usernameEq(condition.getUsername()),
+                            teamNameEq(condition.getTeamName()),
+                            ageGoe(condition.getAgeGoe()),
+                            ageLoe(condition.getAgeLoe()));
+        }
+        return query
+                .where(usernameEq(condition.getUsername()),
+                        teamIdIn(teamIdResolver, condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    private List<Map<String, Object>> toMaps(List<Tuple> tuples, MemberFields fields) {
+        return tuples.stream().map(fields::toMap).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,44 @@
+package study.querydsl.repository;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+
+/**
+ * R2DBC 로 회원 검색 결과를 한 행씩 흘려보냄 (구독자가 요청한 만큼만 읽음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberReactiveRepository {
+
+    private final ConnectionFactory connectionFactory;
+
+    public Flux<MemberTeamDto> search(MemberSearchCondition condition) {
+        MemberSearchSql query = MemberSearchSql.of(condition);
+        String sql = query.sql(i -> "$" + i, "order by m.member_id");
+        List<Object> params = query.params();
+
+        return Flux.usingWhen(connectionFactory.create(),
+                connection -> {
+                    Statement statement = connection.createStatement(sql);
+                    for (int i = 0; i < params.size(); i++) {
+                        statement.bind(i, params.get(i));
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.map((row, metadata) -> new MemberTeamDto(
+                                    row.get("member_id", Long.class),
+                                    row.get("username", String.class),
+                                    row.get("age", Integer.class),
+                                    row.get("team_id", Long.class),
+                                    row.get("team_name", String.class))));
+                },
+                Connection::close);
+    }
+}
@@ -3,10 +3,7 @@ package study.querydsl.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.querydsl.entity.Member;
 
-import java.util.List;
-
+//findByUsername 은 username filter 를 거치도록 MemberRepositoryCustom 에서 구현
 public interface MemberRepository extends JpaRepository<Member,Long>,MemberRepositoryCustom {
 
-    List<Member> findByUsername(String username);
-
 }
@@ -1,38 +1,67 @@
 package study.querydsl.repository;
 
-import com.querydsl.core.QueryResults;
-import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.monitoring.QueryExecutionEvent;
+import study.querydsl.monitoring.SearchWorkloadRecorder;
 
 import javax.persistence.EntityManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import static ch.qos.logback.core.util.OptionHelper.isEmpty;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.MemberPredicates.*;
 
+@Transactional(readOnly = true)
 public class MemberRepositoryImpl implements  MemberRepositoryCustom{
 
+    /**
+     * IN 절 최대 파라미터 수 (2의 거듭제곱)
+     * hibernate.query.in_clause_parameter_padding 은 패딩만 하고 나누지는 않으며 전역 설정이라
+     * 여기서 직접 나누고 채움 (InClause)
+     */
+    static final int IN_CHUNK_SIZE = 512;
+
     private final JPAQueryFactory queryFactory;
+    private final SearchWorkloadRecorder workloadRecorder;
+    private final UsernameFilter usernameFilter;
+    private final TeamIdResolver teamIdResolver;
 
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(EntityManager em, SearchWorkloadRecorder workloadRecorder,
+                                UsernameFilter usernameFilter, TeamIdResolver teamIdResolver) {
         this.queryFactory = new JPAQueryFactory(em);
+        this.workloadRecorder = workloadRecorder;
+        this.usernameFilter = usernameFilter;
+        this.teamIdResolver = teamIdResolver;
     }
 
     @Override
     //회원명, 팀명, 나이(ageGoe, ageLoe)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        String shape = SearchShape.of(condition);
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberRepositoryImpl.search", shape);
+        List<MemberTeamDto> result = QueryBudget.apply(queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -44,25 +73,21 @@ public class MemberRepositoryImpl implements  MemberRepositoryCustom{
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                        ageLoe(condition.getAgeLoe())))
                 .fetch();
-    }
-    private BooleanExpression usernameEq(String username) {
-        return isEmpty(username) ? null : member.username.eq(username);
-    }
-    private BooleanExpression teamNameEq(String teamName) {
-        return isEmpty(teamName) ? null : team.name.eq(teamName);
-    }
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe == null ? null : member.age.goe(ageGoe);
-    }
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe == null ? null : member.age.loe(ageLoe);
+        event.end(result.size());
+        workloadRecorder.record(shape, start);
+        return result;
     }
 
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> results = queryFactory
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        String shape = SearchShape.of(condition);
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberRepositoryImpl.searchPageSimple", shape);
+        List<MemberTeamDto> content = QueryBudget.apply(queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -75,18 +100,37 @@ public class MemberRepositoryImpl implements  MemberRepositoryCustom{
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetchResults();//컨테츠쿼리 + 카운트 커리 둘다 날라감
-                //.fetch는 컨텐츠만 갖고옴
-        List<MemberTeamDto> content = results.getResults();
-        long total = results.getTotal();
+                .limit(pageable.getPageSize()))
+                .fetch();
+        event.end(content.size());
+
+        //fetchResults 는 컨텐츠 + 카운트 쿼리에 같은 timeout 이 걸려서 예산의 두배까지 갈 수 있음
+        //--> 카운트를 따로 날려서 남은 예산만 사용 (항상 카운트, 최적화는 searchPageComplex)
+        QueryExecutionEvent countEvent = QueryExecutionEvent.start("MemberRepositoryImpl.searchPageSimple.count", shape);
+        long total = QueryBudget.apply(queryFactory
+                .select(member)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())))
+                .fetchCount();
+        countEvent.end(1);
         return new PageImpl<>(content, pageable, total);
     }
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,
                                                  Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        long start = System.nanoTime();
+        String shape = SearchShape.of(condition);
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberRepositoryImpl.searchPageComplex", shape);
+        List<MemberTeamDto> content = QueryBudget.apply(queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -99,23 +143,106 @@ public class MemberRepositoryImpl implements  MemberRepositoryCustom{
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(pageable.getPageSize()))
                 .fetch(); // 컨텐츠만 가져옴
+        event.end(content.size());
+        workloadRecorder.record(shape, start);
 
 
+        //카운트는 team 컬럼이 필요 없으므로 team_id 조건으로 바꾸고 조인 제거
         JPAQuery<Member> countQuery = queryFactory
                 .select(member)
                 .from(member)
-                .leftJoin(member.team, team)
                 .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
+                        teamIdIn(teamIdResolver, condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()));
 //                .fetchCount(); //카운트용 쿼리
 //        return new PageImpl<>(content, pageable, total);
 
         // 갯수가 작을떄, 마지막일떄 쿼리 안날라감
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            QueryExecutionEvent countEvent = QueryExecutionEvent.start("MemberRepositoryImpl.searchPageComplex.count", shape);
+            long total = QueryBudget.apply(countQuery).fetchCount();
+            countEvent.end(1);
+            return total;
+        });
+    }
+
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        if (noSuchTeam(teamIdResolver, condition.getTeamName())) {
+            return new SliceImpl<>(new ArrayList<>(), pageable, false);
+        }
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberRepositoryImpl.searchSlice", SearchShape.of(condition));
+        List<MemberTeamDto> content = QueryBudget.apply(queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1)) //한건 더 가져와서 다음 페이지 여부만 확인, 카운트 쿼리 없음
+                .fetch();
+        event.end(content.size());
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<Member> findByUsername(String username) {
+        //확실히 없는 username 은 쿼리 안 날림
+        if (!usernameFilter.mightExist(username)) {
+            return new ArrayList<>();
+        }
+        return queryFactory
+                .selectFrom(member)
+                .where(member.username.eq(username))
+                .setHint(READ_ONLY, true)
+                .fetch();
+    }
+
+    @Override
+    public Map<Long, Member> findAllByIds(Collection<Long> ids) {
+        Map<Long, Member> result = new LinkedHashMap<>();
+        for (List<Long> chunk : InClause.paddedChunks(ids, IN_CHUNK_SIZE)) {
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .where(member.id.in(chunk))
+                    .setHint(READ_ONLY, true)
+                    .fetch();
+            members.forEach(m -> result.put(m.getId(), m));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, List<Member>> findAllByUsernames(Collection<String> usernames) {
+        //Bloom filter 로 거르지 않음 (키 전부가 없을 때만 쿼리가 줄어서 이득이 적음)
+        Map<String, List<Member>> result = new LinkedHashMap<>();
+        for (List<String> chunk : InClause.paddedChunks(usernames, IN_CHUNK_SIZE)) {
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .where(member.username.in(chunk))
+                    .orderBy(member.id.asc())
+                    .setHint(READ_ONLY, true)
+                    .fetch();
+            members.forEach(m -> result.computeIfAbsent(m.getUsername(), k -> new ArrayList<>()).add(m));
+        }
+        return result;
     }
 }
@@ -0,0 +1,67 @@
+package study.querydsl.repository;
+
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static ch.qos.logback.core.util.OptionHelper.isEmpty;
+
+/**
+ * JPA 를 거치지 않는 경로(R2DBC, 샤드별 JDBC)용 회원 검색 SQL
+ * MemberRepositoryImpl 의 usernameEq / teamNameEq / ageGoe / ageLoe 와 같은 조건
+ * 문자열 조건도 같은 isEmpty 로 판단 (null, "" 만 조건 없음, " " 는 그대로 비교) --> /stream, 샤드 검색과 /v1~v5 결과가 같음
+ */
+public class MemberSearchSql {
+
+    static final String SELECT = "select m.member_id, m.username, m.age, t.team_id, t.name as team_name" +
+            " from member m left outer join team t on m.team_id = t.team_id";
+
+    private final List<String> columns = new ArrayList<>();
+    private final List<Object> params = new ArrayList<>();
+
+    private MemberSearchSql() {
+    }
+
+    public static MemberSearchSql of(MemberSearchCondition condition) {
+        MemberSearchSql query = new MemberSearchSql();
+        if (!isEmpty(condition.getUsername())) {
+            query.add("m.username = ", condition.getUsername());
+        }
+        if (!isEmpty(condition.getTeamName())) {
+            query.add("t.name = ", condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            query.add("m.age >= ", condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            query.add("m.age <= ", condition.getAgeLoe());
+        }
+        return query;
+    }
+
+    private void add(String column, Object param) {
+        columns.add(column);
+        params.add(param);
+    }
+
+    /**
+     * @param placeholder 1 부터 시작하는 파라미터 번호 -> 바인드 마커 (JDBC "?", R2DBC H2 "$1")
+     */
+    public String sql(IntFunction<String> placeholder, String suffix) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? " where " : " and ").append(columns.get(i)).append(placeholder.apply(i + 1));
+        }
+        if (suffix != null) {
+            sql.append(' ').append(suffix);
+        }
+        return sql.toString();
+    }
+
+    public List<Object> params() {
+        return Collections.unmodifiableList(params);
+    }
+}
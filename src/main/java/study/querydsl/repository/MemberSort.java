@@ -0,0 +1,40 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * Pageable 의 sort 를 인덱스 있는 컬럼의 OrderSpecifier 로 변환 (허용 범위는 MemberSortOrder)
+ */
+class MemberSort {
+
+    private MemberSort() {
+    }
+
+    static OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        MemberSortOrder order = MemberSortOrder.of(sort);
+        OrderSpecifier<?> first = orderBy(path(order.getProperty()), order);
+        if (!order.needsTiebreaker()) {
+            return new OrderSpecifier<?>[]{first};
+        }
+        return new OrderSpecifier<?>[]{first, orderBy(member.id, order)};
+    }
+
+    private static ComparableExpressionBase<?> path(MemberSortOrder.Property property) {
+        switch (property) {
+            case USERNAME:
+                return member.username;
+            case AGE:
+                return member.age;
+            default:
+                return member.id;
+        }
+    }
+
+    private static OrderSpecifier<?> orderBy(ComparableExpressionBase<?> path, MemberSortOrder order) {
+        return order.isAscending() ? path.asc() : path.desc();
+    }
+}
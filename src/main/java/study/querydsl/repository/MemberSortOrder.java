@@ -0,0 +1,68 @@
+package study.querydsl.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Iterator;
+
+/**
+ * 회원 검색에서 허용하는 정렬 (JPA / member_team / 샤드 검색 공통)
+ * (username, member_id), (age, member_id) 인덱스 순서로 읽을 수 있는 한 컬럼 정렬만 허용, member_id 를 tiebreaker 로 붙임
+ * 그 외 정렬(teamName, 다중 정렬 등)은 filesort 가 되므로 거절
+ */
+public class MemberSortOrder {
+
+    public enum Property {
+        MEMBER_ID("memberId"), USERNAME("username"), AGE("age");
+
+        private final String name;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+        static Property of(String name) {
+            for (Property property : values()) {
+                if (property.name.equals(name)) {
+                    return property;
+                }
+            }
+            throw new UnsupportedSortException("unsupported sort property: " + name);
+        }
+    }
+
+    //정렬 없어도 페이지가 흔들리지 않게 pk 순
+    private static final MemberSortOrder DEFAULT = new MemberSortOrder(Property.MEMBER_ID, true);
+
+    private final Property property;
+    private final boolean ascending;
+
+    private MemberSortOrder(Property property, boolean ascending) {
+        this.property = property;
+        this.ascending = ascending;
+    }
+
+    public static MemberSortOrder of(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return DEFAULT;
+        }
+        Sort.Order order = orders.next();
+        if (orders.hasNext()) {
+            throw new UnsupportedSortException("only one sort property is supported: " + sort);
+        }
+        return new MemberSortOrder(Property.of(order.getProperty()), order.isAscending());
+    }
+
+    public Property getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    //member_id 정렬이 아니면 member_id 를 같은 방향으로 한번 더
+    public boolean needsTiebreaker() {
+        return property != Property.MEMBER_ID;
+    }
+}
@@ -0,0 +1,194 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * member / team 변경을 member_team 읽기 테이블에 반영
+ * 엔티티 리스너와 벌크 연산이 변경된 id 를 트랜잭션에 모아두면 커밋 직전(flush 후)에 원본 테이블에서 다시 읽어 MERGE
+ * (같은 트랜잭션이므로 롤백되면 member_team 도 같이 롤백)
+ */
+@Slf4j
+@Component
+public class MemberTeamProjector {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    static final String PROJECTION = "select m.member_id, m.username, m.age, t.team_id, t.name" +
+            " from member m left outer join team t on m.team_id = t.team_id";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public MemberTeamProjector(EntityManager em, JdbcTemplate jdbcTemplate) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void memberChanged(Long memberId) {
+        Pending pending = pending();
+        pending.members.add(memberId);
+        applyIfNoTransaction(pending);
+    }
+
+    //벌크 update 처럼 리스너를 거치지 않는 변경
+    public void membersChanged(Collection<Long> memberIds) {
+        Pending pending = pending();
+        pending.members.addAll(memberIds);
+        applyIfNoTransaction(pending);
+    }
+
+    public void memberRemoved(Long memberId) {
+        Pending pending = pending();
+        pending.members.remove(memberId);
+        pending.removed.add(memberId);
+        applyIfNoTransaction(pending);
+    }
+
+    public void teamChanged(Long teamId) {
+        Pending pending = pending();
+        pending.teams.add(teamId);
+        applyIfNoTransaction(pending);
+    }
+
+    /**
+     * member_team 전체를 원본 테이블에서 다시 만듦
+     */
+    @Transactional
+    public int rebuild() {
+        em.flush();
+        jdbcTemplate.update("delete from member_team");
+        int rows = jdbcTemplate.update("insert into member_team (member_id, username, age, team_id, team_name) " + PROJECTION);
+        log.info("member_team rebuilt. rows={}", rows);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public Consistency check() {
+        List<Long> missing = jdbcTemplate.queryForList("select m.member_id from member m" +
+                " where not exists (select 1 from member_team mt where mt.member_id = m.member_id)" +
+                " order by m.member_id", Long.class);
+        List<Long> orphaned = jdbcTemplate.queryForList("select mt.member_id from member_team mt" +
+                " where not exists (select 1 from member m where m.member_id = mt.member_id)" +
+                " order by mt.member_id", Long.class);
+        List<Long> stale = jdbcTemplate.queryForList("select m.member_id from member m" +
+                " join member_team mt on mt.member_id = m.member_id" +
+                " left outer join team t on m.team_id = t.team_id" +
+                " where m.username is distinct from mt.username" +
+                " or m.age <> mt.age" +
+                " or m.team_id is distinct from mt.team_id" +
+                " or t.name is distinct from mt.team_name" +
+                " order by m.member_id", Long.class);
+        return new Consistency(missing, orphaned, stale);
+    }
+
+    private void applyIfNoTransaction(Pending pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(pending);
+        }
+    }
+
+    /**
+     * 트랜잭션마다 하나 (없으면 매번 새로 만들어서 바로 반영)
+     * 커밋 flush 중에 호출되는 리스너도 놓치지 않도록 Spring beforeCommit 이 아니라
+     * Hibernate 의 커밋 직전 처리(flush 이후 실행)에 등록
+     */
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Pending();
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending newPending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, newPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MemberTeamProjector.this);
+                }
+            });
+            em.unwrap(SessionImplementor.class).getActionQueue()
+                    .registerProcess((BeforeTransactionCompletionProcess) session -> apply(newPending));
+            pending = newPending;
+        }
+        return pending;
+    }
+
+    private void apply(Pending pending) {
+        for (List<Long> ids : chunks(pending.members)) {
+            namedJdbcTemplate.update("merge into member_team (member_id, username, age, team_id, team_name) key (member_id) " +
+                    PROJECTION + " where m.member_id in (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+        for (List<Long> ids : chunks(pending.removed)) {
+            namedJdbcTemplate.update("delete from member_team where member_id in (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+        for (List<Long> ids : chunks(pending.teams)) {
+            namedJdbcTemplate.update("update member_team mt" +
+                    " set team_name = (select t.name from team t where t.team_id = mt.team_id)" +
+                    " where mt.team_id in (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+        pending.members.clear();
+        pending.removed.clear();
+        pending.teams.clear();
+    }
+
+    private List<List<Long>> chunks(Set<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(Math.min(ids.size(), CHUNK_SIZE));
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static class Pending {
+        private final Set<Long> members = new LinkedHashSet<>();
+        private final Set<Long> removed = new LinkedHashSet<>();
+        private final Set<Long> teams = new LinkedHashSet<>();
+    }
+
+    @Getter
+    public static class Consistency {
+        //member 에 있는데 member_team 에 없음
+        private final List<Long> missing;
+        //member_team 에만 있음
+        private final List<Long> orphaned;
+        //값이 다름
+        private final List<Long> stale;
+
+        Consistency(List<Long> missing, List<Long> orphaned, List<Long> stale) {
+            this.missing = missing;
+            this.orphaned = orphaned;
+            this.stale = stale;
+        }
+
+        public boolean isConsistent() {
+            return missing.isEmpty() && orphaned.isEmpty() && stale.isEmpty();
+        }
+    }
+}
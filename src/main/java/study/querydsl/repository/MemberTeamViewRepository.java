@@ -0,0 +1,113 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.MemberTeamView;
+import study.querydsl.monitoring.QueryExecutionEvent;
+
+import java.util.List;
+
+import static ch.qos.logback.core.util.OptionHelper.isEmpty;
+import static study.querydsl.entity.QMemberTeamView.memberTeamView;
+
+/**
+ * member_team 읽기 테이블 검색 (team 조인 없음)
+ * 조건/정렬은 MemberRepositoryImpl 과 동일
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberTeamViewRepository {
+
+    private final JPAQueryFactory queryFactory;
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberTeamViewRepository.search", SearchShape.of(condition));
+        List<MemberTeamDto> result = QueryBudget.apply(queryFactory
+                .select(projection())
+                .from(memberTeamView)
+                .where(where(condition)))
+                .fetch();
+        event.end(result.size());
+        return result;
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        String shape = SearchShape.of(condition);
+        QueryExecutionEvent event = QueryExecutionEvent.start("MemberTeamViewRepository.searchPage", shape);
+        List<MemberTeamDto> content = QueryBudget.apply(queryFactory
+                .select(projection())
+                .from(memberTeamView)
+                .where(where(condition))
+                .orderBy(orderBy(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize()))
+                .fetch();
+        event.end(content.size());
+
+        JPAQuery<MemberTeamView> countQuery = queryFactory
+                .selectFrom(memberTeamView)
+                .where(where(condition));
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            QueryExecutionEvent countEvent = QueryExecutionEvent.start("MemberTeamViewRepository.searchPage.count", shape);
+            long total = QueryBudget.apply(countQuery).fetchCount();
+            countEvent.end(1);
+            return total;
+        });
+    }
+
+    private QMemberTeamDto projection() {
+        return new QMemberTeamDto(
+                memberTeamView.memberId,
+                memberTeamView.username,
+                memberTeamView.age,
+                memberTeamView.teamId,
+                memberTeamView.teamName);
+    }
+
+    private BooleanExpression[] where(MemberSearchCondition condition) {
+        return new BooleanExpression[]{
+                isEmpty(condition.getUsername()) ? null : memberTeamView.username.eq(condition.getUsername()),
+                isEmpty(condition.getTeamName()) ? null : memberTeamView.teamName.eq(condition.getTeamName()),
+                condition.getAgeGoe() == null ? null : memberTeamView.age.goe(condition.getAgeGoe()),
+                condition.getAgeLoe() == null ? null : memberTeamView.age.loe(condition.getAgeLoe())};
+    }
+
+    //허용 범위는 MemberSortOrder (MemberSort 와 같은 규칙)
+    private OrderSpecifier<?>[] orderBy(Sort sort) {
+        MemberSortOrder order = MemberSortOrder.of(sort);
+        OrderSpecifier<?> first = direction(path(order.getProperty()), order);
+        if (!order.needsTiebreaker()) {
+            return new OrderSpecifier<?>[]{first};
+        }
+        return new OrderSpecifier<?>[]{first, direction(memberTeamView.memberId, order)};
+    }
+
+    private ComparableExpressionBase<?> path(MemberSortOrder.Property property) {
+        switch (property) {
+            case USERNAME:
+                return memberTeamView.username;
+            case AGE:
+                return memberTeamView.age;
+            default:
+                return memberTeamView.memberId;
+        }
+    }
+
+    private OrderSpecifier<?> direction(ComparableExpressionBase<?> path, MemberSortOrder order) {
+        return order.isAscending() ? path.asc() : path.desc();
+    }
+}
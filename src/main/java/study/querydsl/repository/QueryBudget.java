@@ -0,0 +1,53 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.springframework.dao.QueryTimeoutException;
+
+import static org.hibernate.annotations.QueryHints.TIMEOUT_HIBERNATE;
+
+/**
+ * 요청 단위 쿼리 시간 예산. 엔드포인트에서 start, 쿼리마다 남은 시간을 JDBC query timeout 으로 건다
+ * (컨텐츠 + 카운트 쿼리 합쳐서 예산을 넘지 않음, 초 단위로 내림하므로 남은 시간이 1초 미만이면 실행하지 않음)
+ */
+public class QueryBudget {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private QueryBudget() {
+    }
+
+    public static void start(long budgetMillis) {
+        DEADLINE.set(System.currentTimeMillis() + budgetMillis);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    public static Long deadline() {
+        return DEADLINE.get();
+    }
+
+    //다른 스레드(비동기 실행)로 예산을 넘길 때
+    public static void restore(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+
+    public static <T> JPAQuery<T> apply(JPAQuery<T> query) {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return query;
+        }
+        long remaining = deadline - System.currentTimeMillis();
+        //JDBC timeout 은 초 단위 --> 내림 (올리면 예산을 넘겨서 실행될 수 있음), 1초 미만이면 걸 수 있는 timeout 이 없으므로 바로 타임아웃
+        int timeoutSeconds = (int) (remaining / 1000);
+        if (timeoutSeconds <= 0) {
+            throw new QueryTimeoutException("query budget exhausted");
+        }
+        return query.setHint(TIMEOUT_HIBERNATE, timeoutSeconds);
+    }
+}
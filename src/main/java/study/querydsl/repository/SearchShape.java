@@ -0,0 +1,33 @@
+package study.querydsl.repository;
+
+import study.querydsl.dto.MemberSearchCondition;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 검색 조건 중 어떤 필드가 들어왔는지 (값은 제외). ex) "teamName+ageGoe", 없으면 "none"
+ */
+public class SearchShape {
+
+    private SearchShape() {
+    }
+
+    public static String of(MemberSearchCondition condition) {
+        StringBuilder shape = new StringBuilder();
+        append(shape, hasText(condition.getUsername()), "username");
+        append(shape, hasText(condition.getTeamName()), "teamName");
+        append(shape, condition.getAgeGoe() != null, "ageGoe");
+        append(shape, condition.getAgeLoe() != null, "ageLoe");
+        return shape.length() == 0 ? "none" : shape.toString();
+    }
+
+    private static void append(StringBuilder shape, boolean present, String field) {
+        if (!present) {
+            return;
+        }
+        if (shape.length() > 0) {
+            shape.append('+');
+        }
+        shape.append(field);
+    }
+}
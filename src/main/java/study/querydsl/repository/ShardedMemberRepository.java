@@ -0,0 +1,311 @@
+package study.querydsl.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * team_id 해시로 회원을 N 개 DB 에 나눠 저장하는 MemberRepositoryCustom 구현
+ * 샤드 = floorMod(team_id, N), 팀 없는 회원은 0번 샤드, Team 은 모든 샤드에 복제
+ * 조회는 전체 샤드에 병렬로 날리고 합침 (scatter-gather), teamName 조건이 있으면 해당 팀의 샤드만 조회
+ * id 는 샤드간에 겹치면 안되므로 저장할 때 호출하는 쪽에서 채워서 넘김
+ */
+public class ShardedMemberRepository implements MemberRepositoryCustom {
+
+    private static final RowMapper<MemberTeamDto> ROW_MAPPER = (rs, rowNum) -> new MemberTeamDto(
+            rs.getLong("member_id"),
+            rs.getString("username"),
+            rs.getInt("age"),
+            (Long) rs.getObject("team_id"),
+            rs.getString("team_name"));
+
+    private final List<JdbcTemplate> shards;
+    private final Executor executor;
+
+    public ShardedMemberRepository(List<DataSource> dataSources, Executor executor) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+        this.shards = dataSources.stream().map(JdbcTemplate::new).collect(Collectors.toList());
+        this.executor = executor;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardFor(Long teamId) {
+        return teamId == null ? 0 : (int) Math.floorMod(teamId, (long) shards.size());
+    }
+
+    //팀은 모든 샤드에 복제
+    public void saveTeam(Team team) {
+        for (JdbcTemplate shard : shards) {
+            shard.update("merge into team (team_id, name) key (team_id) values (?, ?)", team.getId(), team.getName());
+        }
+    }
+
+    public void saveMember(Member member) {
+        Long teamId = member.getTeam() == null ? null : member.getTeam().getId();
+        shards.get(shardFor(teamId)).update(
+                "merge into member (member_id, username, age, team_id) key (member_id) values (?, ?, ?, ?)",
+                member.getId(), member.getUsername(), member.getAge(), teamId);
+    }
+
+    @Override
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        MemberSearchSql query = MemberSearchSql.of(condition);
+        String sql = query.sql(i -> "?", "order by m.member_id");
+        List<List<MemberTeamDto>> results = scatter(targetShards(condition),
+                shard -> shard.query(sql, ROW_MAPPER, query.params().toArray()));
+        return merge(results, Comparator.comparing(MemberTeamDto::getMemberId), 0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        List<JdbcTemplate> targets = targetShards(condition);
+        List<MemberTeamDto> content = fetchPage(targets, condition, pageable, pageable.getPageSize());
+        return new PageImpl<>(content, pageable, count(targets, condition));
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        List<JdbcTemplate> targets = targetShards(condition);
+        List<MemberTeamDto> content = fetchPage(targets, condition, pageable, pageable.getPageSize());
+        // 갯수가 작을떄, 마지막일떄 카운트 쿼리 안날라감
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(targets, condition));
+    }
+
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = fetchPage(targetShards(condition), condition, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    //샤드에서 읽은 값으로 만든 준영속 엔티티 (영속성 컨텍스트와 무관)
+    @Override
+    public List<Member> findByUsername(String username) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(username);
+        return search(condition).stream().map(ShardedMemberRepository::toMember).collect(Collectors.toList());
+    }
+
+    //id 로는 샤드를 알 수 없으므로 전체 샤드 조회
+    @Override
+    public Map<Long, Member> findAllByIds(Collection<Long> ids) {
+        Map<Long, Member> result = new LinkedHashMap<>();
+        for (MemberTeamDto dto : findAllIn("m.member_id", ids)) {
+            result.put(dto.getMemberId(), toMember(dto));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, List<Member>> findAllByUsernames(Collection<String> usernames) {
+        Map<String, List<Member>> result = new LinkedHashMap<>();
+        for (MemberTeamDto dto : findAllIn("m.username", usernames)) {
+            result.computeIfAbsent(dto.getUsername(), k -> new ArrayList<>()).add(toMember(dto));
+        }
+        return result;
+    }
+
+    private List<MemberTeamDto> findAllIn(String column, Collection<?> keys) {
+        List<List<MemberTeamDto>> results = new ArrayList<>();
+        for (List<?> chunk : InClause.paddedChunks(keys, MemberRepositoryImpl.IN_CHUNK_SIZE)) {
+            String sql = MemberSearchSql.SELECT + " where " + column + " in (" +
+                    String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") order by m.member_id";
+            results.addAll(scatter(shards, shard -> shard.query(sql, ROW_MAPPER, chunk.toArray())));
+        }
+        return merge(results, Comparator.comparing(MemberTeamDto::getMemberId), 0, Long.MAX_VALUE);
+    }
+
+    private static Member toMember(MemberTeamDto dto) {
+        Team team = null;
+        if (dto.getTeamId() != null) {
+            team = new Team(dto.getTeamName());
+            team.setId(dto.getTeamId());
+        }
+        Member member = new Member(dto.getUsername(), dto.getAge(), team);
+        member.setId(dto.getMemberId());
+        return member;
+    }
+
+    /**
+     * 각 샤드에서 정렬된 상위 offset + limit 건을 가져와 k-way merge 후 offset 만큼 버림
+     * 어느 샤드의 행이 전역 순서상 앞에 올지 모르므로 샤드마다 offset 부터가 아니라 처음부터 읽어야 함
+     */
+    private List<MemberTeamDto> fetchPage(List<JdbcTemplate> targets, MemberSearchCondition condition,
+                                          Pageable pageable, int limit) {
+        MemberSearchSql query = MemberSearchSql.of(condition);
+        ShardSort sort = ShardSort.of(pageable.getSort());
+        long perShard = pageable.getOffset() + limit;
+        String sql = query.sql(i -> "?", "order by " + sort.orderBy + " limit " + perShard);
+        List<List<MemberTeamDto>> results = scatter(targets,
+                shard -> shard.query(sql, ROW_MAPPER, query.params().toArray()));
+        return merge(results, sort.comparator, pageable.getOffset(), limit);
+    }
+
+    private long count(List<JdbcTemplate> targets, MemberSearchCondition condition) {
+        MemberSearchSql query = MemberSearchSql.of(condition);
+        String sql = "select count(*) from (" + query.sql(i -> "?", null) + ")";
+        return scatter(targets, shard -> shard.queryForObject(sql, Long.class, query.params().toArray()))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    //teamName 이 있으면 그 팀이 있는 샤드만 (팀은 복제되어 있으므로 0번 샤드에서 id 조회)
+    private List<JdbcTemplate> targetShards(MemberSearchCondition condition) {
+        if (!hasText(condition.getTeamName())) {
+            return shards;
+        }
+        List<Long> teamIds = shards.get(0).queryForList("select team_id from team where name = ?",
+                Long.class, condition.getTeamName());
+        return teamIds.stream()
+                .map(this::shardFor)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream()
+                .map(shards::get)
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<T> scatter(List<JdbcTemplate> targets, Function<JdbcTemplate, T> query) {
+        if (targets.size() == 1) {
+            return Collections.singletonList(query.apply(targets.get(0)));
+        }
+        List<CompletableFuture<T>> futures = targets.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    //샤드별로 정렬된 결과를 하나로 합침
+    static List<MemberTeamDto> merge(List<List<MemberTeamDto>> sorted, Comparator<MemberTeamDto> comparator,
+                                     long offset, long limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.current, b.current));
+        for (List<MemberTeamDto> rows : sorted) {
+            Iterator<MemberTeamDto> iterator = rows.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor(iterator));
+            }
+        }
+
+        List<MemberTeamDto> result = new ArrayList<>();
+        long skipped = 0;
+        while (!heads.isEmpty() && result.size() < limit) {
+            Cursor head = heads.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result.add(head.current);
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    private static class Cursor {
+        private final Iterator<MemberTeamDto> iterator;
+        private MemberTeamDto current;
+
+        Cursor(Iterator<MemberTeamDto> iterator) {
+            this.iterator = iterator;
+            this.current = iterator.next();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            return true;
+        }
+    }
+
+    //허용 범위는 MemberSortOrder (SQL + 병합용 Comparator), member_id 를 tiebreaker 로 붙임
+    private static class ShardSort {
+        private static final Comparator<MemberTeamDto> BY_ID = Comparator.comparing(MemberTeamDto::getMemberId);
+
+        private final String orderBy;
+        private final Comparator<MemberTeamDto> comparator;
+
+        ShardSort(String orderBy, Comparator<MemberTeamDto> comparator) {
+            this.orderBy = orderBy;
+            this.comparator = comparator;
+        }
+
+        static ShardSort of(Sort sort) {
+            MemberSortOrder order = MemberSortOrder.of(sort);
+            String direction = order.isAscending() ? " asc" : " desc";
+            String orderBy = column(order.getProperty()) + direction;
+            Comparator<MemberTeamDto> comparator = comparator(order.getProperty());
+            if (order.needsTiebreaker()) {
+                orderBy += ", m.member_id" + direction;
+                comparator = comparator.thenComparing(BY_ID);
+            }
+            return new ShardSort(orderBy, order.isAscending() ? comparator : comparator.reversed());
+        }
+
+        private static String column(MemberSortOrder.Property property) {
+            switch (property) {
+                case USERNAME:
+                    return "m.username";
+                case AGE:
+                    return "m.age";
+                default:
+                    return "m.member_id";
+            }
+        }
+
+        private static Comparator<MemberTeamDto> comparator(MemberSortOrder.Property property) {
+            switch (property) {
+                case USERNAME:
+                    return Comparator.comparing(MemberTeamDto::getUsername, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case AGE:
+                    return Comparator.comparingInt(MemberTeamDto::getAge);
+                default:
+                    return BY_ID;
+            }
+        }
+    }
+}
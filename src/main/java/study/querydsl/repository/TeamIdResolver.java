@@ -0,0 +1,81 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * team.name -> team_id 목록 캐시. teamName 조건을 member.team.id in (...) 로 바꿔서 team 조인 없이 FK 로 거름
+ * (팀 이름은 unique 가 아니라 목록) Team 이 바뀌면 TeamChangeListener 가 비움
+ * 요청 파라미터가 그대로 키가 되므로 LRU 로 크기를 제한하고, 없는 팀명(빈 목록)은 캐시하지 않음
+ */
+@Component
+public class TeamIdResolver {
+
+    private final ObjectProvider<JPAQueryFactory> queryFactory;
+    private final Map<String, List<Long>> cache;
+    //evictAll 횟수. 조회 중에 비워졌으면 옛 값을 넣지 않음
+    private long generation;
+
+    public TeamIdResolver(ObjectProvider<JPAQueryFactory> queryFactory,
+                          @Value("${querydsl.team-id-cache.max-entries:1000}") int maxEntries) {
+        this.queryFactory = queryFactory;
+        this.cache = new LinkedHashMap<String, List<Long>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Long>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 일치하는 팀이 없으면 빈 목록
+     */
+    public List<Long> resolve(String teamName) {
+        long loadedGeneration;
+        synchronized (cache) {
+            List<Long> cached = cache.get(teamName);
+            if (cached != null) {
+                return cached;
+            }
+            loadedGeneration = generation;
+        }
+
+        //쿼리는 락 밖에서
+        List<Long> teamIds = Collections.unmodifiableList(queryFactory.getObject()
+                .select(team.id)
+                .from(team)
+                .where(team.name.eq(teamName))
+                .fetch());
+        if (teamIds.isEmpty()) {
+            return teamIds;
+        }
+        synchronized (cache) {
+            if (generation == loadedGeneration) {
+                cache.put(teamName, teamIds);
+            }
+        }
+        return teamIds;
+    }
+
+    public void evictAll() {
+        synchronized (cache) {
+            cache.clear();
+            generation++;
+        }
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
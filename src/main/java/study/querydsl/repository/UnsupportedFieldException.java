@@ -0,0 +1,12 @@
+package study.querydsl.repository;
+
+/**
+ * 허용하지 않는 fields 값 (400)
+ * UnsupportedSortException 과 같은 이유로 IllegalArgumentException 이 아니라 RuntimeException
+ */
+public class UnsupportedFieldException extends RuntimeException {
+
+    public UnsupportedFieldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.repository;
+
+/**
+ * 허용하지 않는 정렬 (400)
+ * IllegalArgumentException 이면 리포지토리 프록시의 예외 변환이 InvalidDataAccessApiUsageException 으로 감싸므로 RuntimeException
+ */
+public class UnsupportedSortException extends RuntimeException {
+
+    public UnsupportedSortException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,153 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * member.username Bloom filter. 확실히 없는 username 은 쿼리 없이 빈 결과
+ * 시작시 생성, insert/rename 커밋 후 추가, 삭제 반영을 위해 주기적으로 재생성
+ * 생성 전에는 항상 mightContain = true (그냥 조회)
+ * 필터에는 커밋된 username 만 들어가므로 아직 커밋 안된 회원 변경이 있을 수 있는 쓰기 트랜잭션 안에서는 필터를 보지 않음
+ */
+@Slf4j
+@Component
+public class UsernameFilter {
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final double falsePositiveRate;
+    private final Counter saved;
+
+    private volatile BloomFilter filter;
+    //재생성 중에 커밋된 username --> 새 필터에도 넣어줌 (put 과 교체는 lock 으로 순서 보장)
+    private Queue<String> rebuilding;
+
+    public UsernameFilter(JPAQueryFactory queryFactory, EntityManager em, MeterRegistry meterRegistry,
+                          @Value("${querydsl.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+        this.falsePositiveRate = falsePositiveRate;
+        this.saved = meterRegistry.counter("member.username.filter.saved");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${querydsl.username-filter.rebuild-interval-ms:600000}",
+            initialDelayString = "${querydsl.username-filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        //조회 전에 큐를 열어야 조회 스냅샷 이후 커밋된 username 을 놓치지 않음
+        Queue<String> added = new ArrayDeque<>();
+        synchronized (this) {
+            rebuilding = added;
+        }
+        BloomFilter newFilter = null;
+        try {
+            List<String> usernames = queryFactory
+                    .select(member.username)
+                    .from(member)
+                    .where(member.username.isNotNull())
+                    .fetch();
+
+            newFilter = new BloomFilter(Math.max(1024, usernames.size() * 2L), falsePositiveRate);
+            usernames.forEach(newFilter::put);
+            log.info("username filter rebuilt. usernames={}", usernames.size());
+        } finally {
+            synchronized (this) {
+                if (newFilter != null) {
+                    added.forEach(newFilter::put);
+                    filter = newFilter;
+                }
+                rebuilding = null;
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에 추가 (롤백되면 추가 안함)
+     * 커밋 전까지 이 트랜잭션은 필터를 보지 않음 (uncommittedWritesPossible)
+     */
+    public void putAfterCommit(String username) {
+        if (username == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(username);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> newPending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, newPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    newPending.forEach(UsernameFilter.this::put);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UsernameFilter.this);
+                }
+            });
+            pending = newPending;
+        }
+        pending.add(username);
+    }
+
+    public synchronized void put(String username) {
+        if (username == null) {
+            return;
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(username);
+        }
+        if (rebuilding != null) {
+            rebuilding.add(username);
+        }
+    }
+
+    /**
+     * false 면 해당 username 회원은 확실히 없음
+     */
+    public boolean mightExist(String username) {
+        BloomFilter current = filter;
+        if (current == null || username == null || uncommittedWritesPossible() || current.mightContain(username)) {
+            return true;
+        }
+        saved.increment();
+        return false;
+    }
+
+    /**
+     * 쓰기 트랜잭션에 이번 트랜잭션에서 저장/변경한 회원이 있거나 (flush 후 clear 된 경우 포함)
+     * 영속성 컨텍스트에 flush 안된 변경이 있을 수 있으면 쿼리(auto flush)로 확인해야 함
+     */
+    private boolean uncommittedWritesPossible() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return TransactionSynchronizationManager.hasResource(this)
+                || em.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities() > 0;
+    }
+}
@@ -0,0 +1,105 @@
+package study.querydsl.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberSortOrder;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static ch.qos.logback.core.util.OptionHelper.isEmpty;
+
+/**
+ * 동일한 검색(정규화된 조건 + Pageable)이 동시에 몰리면 DB 조회 한번으로 합침
+ * 정규화는 리포지토리 조건이 같게 보는 값만 (null, "" --> null), 공백은 자르지 않음 (" member1" 은 다른 검색)
+ */
+@Service
+public class MemberSearchService {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final SingleFlight<SearchKey, Object> singleFlight;
+
+    public MemberSearchService(MemberJpaRepository memberJpaRepository, MemberRepository memberRepository,
+                               MeterRegistry meterRegistry) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberRepository = memberRepository;
+        Counter coalesced = meterRegistry.counter("member.search.coalesced");
+        this.singleFlight = new SingleFlight<>(coalesced::increment);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return (List<MemberTeamDto>) execute(SearchKey.of("search", condition, null),
+                key -> memberJpaRepository.search(key.toCondition()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        //허용하지 않는 정렬은 single-flight / 리포지토리 전에 거절 (400)
+        MemberSortOrder.of(pageable.getSort());
+        return (Page<MemberTeamDto>) execute(SearchKey.of("pageSimple", condition, pageable),
+                key -> memberRepository.searchPageSimple(key.toCondition(), pageable));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        MemberSortOrder.of(pageable.getSort());
+        return (Page<MemberTeamDto>) execute(SearchKey.of("pageComplex", condition, pageable),
+                key -> memberRepository.searchPageComplex(key.toCondition(), pageable));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        MemberSortOrder.of(pageable.getSort());
+        return (Slice<MemberTeamDto>) execute(SearchKey.of("slice", condition, pageable),
+                key -> memberRepository.searchSlice(key.toCondition(), pageable));
+    }
+
+    private Object execute(SearchKey key, Function<SearchKey, Object> loader) {
+        return singleFlight.execute(key, () -> loader.apply(key));
+    }
+
+    @Value
+    static class SearchKey {
+        String type;
+        String username;
+        String teamName;
+        Integer ageGoe;
+        Integer ageLoe;
+        Pageable pageable;
+
+        //키와 실행되는 조건(toCondition) 모두 정규화된 값
+        static SearchKey of(String type, MemberSearchCondition condition, Pageable pageable) {
+            return new SearchKey(type,
+                    normalize(condition.getUsername()),
+                    normalize(condition.getTeamName()),
+                    condition.getAgeGoe(),
+                    condition.getAgeLoe(),
+                    pageable);
+        }
+
+        MemberSearchCondition toCondition() {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setUsername(username);
+            condition.setTeamName(teamName);
+            condition.setAgeGoe(ageGoe);
+            condition.setAgeLoe(ageLoe);
+            return condition;
+        }
+
+        //리포지토리의 isEmpty 조건과 같은 기준
+        private static String normalize(String value) {
+            return isEmpty(value) ? null : value;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package study.querydsl.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberTeamProjector;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원 팀 이동을 changeTeam 대신 청크 단위 벌크 update 로 처리
+ * (changeTeam 은 회원마다 dirty checking + team.members 컬렉션 로딩)
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TeamReassignmentService {
+
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final MemberTeamProjector memberTeamProjector;
+
+    public ReassignmentResult reassignTeam(Long sourceTeamId, Long targetTeamId) {
+        return reassign(member.team.id.eq(sourceTeamId), targetTeamId, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ReassignmentResult reassign(Predicate memberPredicate, Long targetTeamId) {
+        return reassign(memberPredicate, targetTeamId, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ReassignmentResult reassign(Predicate memberPredicate, Long targetTeamId, int chunkSize) {
+        Team targetTeam = em.getReference(Team.class, targetTeamId);
+
+        //벌크 연산 전에 쓰기지연 반영
+        em.flush();
+
+        ReassignmentResult result = new ReassignmentResult(targetTeamId);
+        Long lastId = 0L;
+        while (true) {
+            List<Tuple> chunk = queryFactory
+                    .select(member.id, member.team.id)
+                    .from(member)
+                    .where(memberPredicate,
+                            member.team.isNull().or(member.team.id.ne(targetTeamId)),
+                            member.id.gt(lastId))
+                    .orderBy(member.id.asc())
+                    .limit(chunkSize)
+                    .fetch();
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (Tuple tuple : chunk) {
+                ids.add(tuple.get(member.id));
+                result.moved(tuple.get(member.team.id));
+            }
+
+            queryFactory
+                    .update(member)
+                    .set(member.team, targetTeam)
+                    .where(member.id.in(ids))
+                    .execute();
+            //벌크 update 는 엔티티 리스너를 거치지 않으므로 member_team 반영 대상으로 직접 등록
+            memberTeamProjector.membersChanged(ids);
+            //이미 로딩된 회원은 옛 team 을 들고 있으므로 영속성 컨텍스트에서 분리 (다시 조회하면 새 값)
+            for (Long id : ids) {
+                Object moved = managed(Member.class, id);
+                if (moved != null) {
+                    em.detach(moved);
+                }
+            }
+
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        //이전 팀, 대상 팀의 members 컬렉션을 다시 읽도록 refresh (시작할 때 flush 했으므로 버려지는 변경 없음)
+        //em.clear() 는 호출한 쪽이 로딩한 다른 엔티티까지 분리하므로 사용하지 않음
+        if (result.getMovedCount() > 0) {
+            Set<Long> teamIds = new HashSet<>(result.getMovedFromTeam().keySet());
+            teamIds.add(targetTeamId);
+            for (Long teamId : teamIds) {
+                Object team = teamId == null ? null : managed(Team.class, teamId);
+                if (team != null) {
+                    em.refresh(team);
+                }
+            }
+        }
+        return result;
+    }
+
+    //영속성 컨텍스트에 로딩된 엔티티 (없으면 null, DB 조회 안함)
+    private Object managed(Class<?> entityClass, Long id) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(entityClass);
+        return session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+    }
+
+    @Getter
+    public static class ReassignmentResult {
+        private final Long targetTeamId;
+        private long movedCount;
+        //이전 팀별 이동 회원 수 (팀 없던 회원은 null 키)
+        private final Map<Long, Long> movedFromTeam = new HashMap<>();
+
+        ReassignmentResult(Long targetTeamId) {
+            this.targetTeamId = targetTeamId;
+        }
+
+        void moved(Long sourceTeamId) {
+            movedCount++;
+            movedFromTeam.merge(sourceTeamId, 1L, Long::sum);
+        }
+
+        public Map<Long, Long> getMovedFromTeam() {
+            return Collections.unmodifiableMap(movedFromTeam);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- 샤드 DB 스키마 (ShardedMemberRepository). 기본 DB 와 달리 JPA ddl-auto 가 없으므로 시작할 때 실행
+create table if not exists team (
+    team_id bigint not null primary key,
+    name varchar(255)
+);
+create table if not exists member (
+    member_id bigint not null primary key,
+    username varchar(255),
+    age integer not null,
+    team_id bigint
+);
+create index if not exists idx_member_username on member (username, member_id);
+create index if not exists idx_member_age on member (age, member_id);
+create index if not exists idx_member_team on member (team_id);
@@ -0,0 +1,36 @@
+package study.querydsl;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트에서 실제 실행된 SQL (값 치환된) 확인용 p6spy 리스너 --> @Import(SqlCapture.class)
+ * capture 로 감싼 구간에서 현재 스레드가 실행한 SQL 만 모음
+ */
+public class SqlCapture extends JdbcEventListener {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static List<String> capture(Runnable runnable) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            runnable.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(statementInformation.getSqlWithValues());
+        }
+    }
+}
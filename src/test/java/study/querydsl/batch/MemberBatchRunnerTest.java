@@ -0,0 +1,101 @@
+package study.querydsl.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.BatchCheckpoint;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.BatchCheckpointRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+//청크마다 커밋하고 member_id 전체 범위를 나누므로 mem DB 에서 회원을 비우고 실행
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class MemberBatchRunnerTest {
+
+    static final String JOB = "batch-resume-test";
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MemberBatchRunner memberBatchRunner;
+    @Autowired
+    BatchCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            deleteMembers();
+            for (int i = 1; i <= 8; i++) {
+                em.persist(new Member("member" + i, i));
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            deleteMembers();
+            checkpointRepository.deleteAll(checkpointRepository.findByJobNameOrderByPartitionNo(JOB));
+            return null;
+        });
+    }
+
+    @Test
+    public void 첫청크실패_체크포인트부터_재시작() {
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        //2 파티션 x 4명, 두번째 파티션의 첫 청크(member5, member6) 실패
+        List<PartitionReport> first = memberBatchRunner.run(JOB, 2, 2, chunk -> {
+            if (chunk.stream().anyMatch(m -> m.getUsername().equals("member5"))) {
+                throw new IllegalStateException("fail");
+            }
+            chunk.forEach(m -> processed.add(m.getUsername()));
+        });
+
+        PartitionReport failed = first.stream().filter(PartitionReport::isFailed).findFirst().get();
+        BatchCheckpoint remaining = incomplete();
+        assertThat(failed.getPartitionNo()).isEqualTo(remaining.getPartitionNo()).isEqualTo(1);
+        assertThat(failed.getRecords()).isEqualTo(0);
+        assertThat(processed).containsExactlyInAnyOrder("member1", "member2", "member3", "member4");
+
+        //같은 jobName --> 실패한 파티션만 이어서
+        List<PartitionReport> second = memberBatchRunner.run(JOB, 2, 2, chunk ->
+                chunk.forEach(m -> processed.add(m.getUsername())));
+
+        assertThat(second).extracting("partitionNo").containsExactly(1);
+        assertThat(second.get(0).isFailed()).isFalse();
+        assertThat(second.get(0).getRecords()).isEqualTo(4);
+        assertThat(processed).containsExactlyInAnyOrder(
+                "member1", "member2", "member3", "member4", "member5", "member6", "member7", "member8");
+        assertThat(checkpointRepository.findByJobNameOrderByPartitionNo(JOB))
+                .allMatch(BatchCheckpoint::isCompleted);
+    }
+
+    //벌크 삭제는 리스너를 거치지 않으므로 member_team 도 같이
+    private void deleteMembers() {
+        em.createQuery("delete from Member").executeUpdate();
+        jdbcTemplate.update("delete from member_team");
+    }
+
+    private BatchCheckpoint incomplete() {
+        return checkpointRepository.findByJobNameOrderByPartitionNo(JOB).stream()
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .findFirst().get();
+    }
+}
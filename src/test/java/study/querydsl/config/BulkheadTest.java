@@ -0,0 +1,50 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    public void 한도초과_거절() {
+        Bulkhead bulkhead = new Bulkhead("member", 2, 0, 10);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getInFlight()).isEqualTo(2);
+
+        bulkhead.release();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void 대기열에서_반납된_자리_획득() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("member", 1, 1, 1000);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> waiter = executor.submit(() -> {
+            started.countDown();
+            return bulkhead.tryAcquire();
+        });
+        started.await();
+        while (bulkhead.getQueueDepth() == 0 && !waiter.isDone()) {
+            Thread.sleep(1);
+        }
+        //대기열 1칸이 찼으므로 다음 요청은 바로 거절
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        bulkhead.release();
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+}
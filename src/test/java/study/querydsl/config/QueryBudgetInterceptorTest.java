@@ -0,0 +1,61 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import study.querydsl.repository.QueryBudget;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QueryBudgetInterceptorTest {
+
+    QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(properties());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    public void after() {
+        QueryBudget.clear();
+    }
+
+    @Test
+    public void 엔드포인트별_예산() {
+        long before = System.currentTimeMillis();
+        interceptor.preHandle(request("/v1/members"), response, null);
+
+        assertThat(QueryBudget.deadline()).isBetween(before + 2000, System.currentTimeMillis() + 2000);
+    }
+
+    @Test
+    public void 설정없는경로_예산없음() {
+        interceptor.preHandle(request("/v9/members"), response, null);
+
+        assertThat(QueryBudget.deadline()).isNull();
+    }
+
+    @Test
+    public void 요청끝나면_정리() {
+        MockHttpServletRequest request = request("/v1/members");
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(QueryBudget.deadline()).isNull();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertThat(QueryBudget.deadline()).isNull();
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static QueryBudgetProperties properties() {
+        QueryBudgetProperties properties = new QueryBudgetProperties();
+        properties.getTimeouts().put("/v1/members", Duration.ofSeconds(2));
+        return properties;
+    }
+}
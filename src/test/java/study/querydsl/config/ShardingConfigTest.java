@@ -0,0 +1,90 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.ShardedMemberRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+//기본 DataSource / JPA 없이 ShardingConfig 만 올려서 빈 구성 검증
+class ShardingConfigTest {
+
+    ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ShardingConfig.class);
+
+    @Test
+    public void 스키마생성_조회() {
+        contextRunner
+                .withPropertyValues(
+                        "querydsl.sharding.enabled=true",
+                        "querydsl.sharding.urls[0]=jdbc:h2:mem:ctx-shard0;DB_CLOSE_DELAY=-1",
+                        "querydsl.sharding.urls[1]=jdbc:h2:mem:ctx-shard1;DB_CLOSE_DELAY=-1")
+                .run(context -> {
+                    ShardedMemberRepository repository = context.getBean(ShardedMemberRepository.class);
+                    assertThat(repository.shardCount()).isEqualTo(2);
+
+                    for (long teamId = 1; teamId <= 2; teamId++) {
+                        Team team = new Team("team" + teamId);
+                        team.setId(teamId);
+                        repository.saveTeam(team);
+                        Member member = new Member("member" + teamId, 10, team);
+                        member.setId(teamId);
+                        repository.saveMember(member);
+                    }
+
+                    List<MemberTeamDto> result = repository.search(new MemberSearchCondition());
+                    assertThat(result).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+                });
+    }
+
+    @Test
+    public void 종료시_풀닫힘() {
+        ShardDataSources[] shards = new ShardDataSources[1];
+        contextRunner
+                .withPropertyValues(
+                        "querydsl.sharding.enabled=true",
+                        "querydsl.sharding.urls[0]=jdbc:h2:mem:ctx-close0;DB_CLOSE_DELAY=-1",
+                        "querydsl.sharding.urls[1]=jdbc:h2:mem:ctx-close1;DB_CLOSE_DELAY=-1")
+                .run(context -> {
+                    shards[0] = context.getBean(ShardDataSources.class);
+                    assertThat(shards[0].getDataSources()).allMatch(ds -> !((HikariDataSource) ds).isClosed());
+                });
+
+        List<DataSource> dataSources = shards[0].getDataSources();
+        assertThat(dataSources).hasSize(2);
+        assertThat(dataSources).allMatch(ds -> ((HikariDataSource) ds).isClosed());
+    }
+
+    @Test
+    public void 대기큐_제한() {
+        contextRunner
+                .withPropertyValues(
+                        "querydsl.sharding.enabled=true",
+                        "querydsl.sharding.queue-capacity=5",
+                        "querydsl.sharding.urls[0]=jdbc:h2:mem:ctx-queue0;DB_CLOSE_DELAY=-1")
+                .run(context -> {
+                    ThreadPoolTaskExecutor executor = context.getBean("shardExecutor", ThreadPoolTaskExecutor.class);
+                    assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity()).isEqualTo(5);
+                    assertThat(executor.getMaxPoolSize()).isEqualTo(4);
+                });
+    }
+
+    @Test
+    public void 비활성이면_등록안함() {
+        contextRunner
+                .withPropertyValues("querydsl.sharding.urls[0]=jdbc:h2:mem:ctx-off0;DB_CLOSE_DELAY=-1")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(ShardedMemberRepository.class);
+                    assertThat(context).doesNotHaveBean(ShardDataSources.class);
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.controller;
+
+import com.p6spy.engine.common.StatementInformation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.querydsl.monitoring.SlowQueryRecorder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    SlowQueryRecorder slowQueryRecorder;
+
+    @AfterEach
+    public void after() {
+        slowQueryRecorder.clear();
+    }
+
+    @Test
+    public void 느린쿼리_조회_비우기() throws Exception {
+        slowQueryRecorder.clear();
+        StatementInformation statement = new StatementInformation(null);
+        statement.setStatementQuery("update member set age = 1");
+        slowQueryRecorder.onAfterAnyExecute(statement, TimeUnit.SECONDS.toNanos(1), null);
+
+        mockMvc.perform(get("/admin/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sql").value("update member set age = 1"))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].maxMillis").value(1000));
+
+        mockMvc.perform(delete("/admin/slow-queries"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/admin/slow-queries"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
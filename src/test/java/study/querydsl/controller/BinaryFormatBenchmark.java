@@ -0,0 +1,61 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.PageEnvelope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /v3/members 응답 한 페이지의 직렬화 비용, 크기 비교 (JSON PageImpl vs 줄인 envelope 의 JSON / Smile / CBOR)
+ */
+@Tag("benchmark")
+class BinaryFormatBenchmark {
+
+    static final int PAGE_SIZE = 1000;
+    static final int WARM_UP = 2_000;
+    static final int ITERATIONS = 5_000;
+
+    @Test
+    public void serializationCostAndSize() throws Exception {
+        List<MemberTeamDto> content = new ArrayList<>();
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            content.add(new MemberTeamDto(i, "member" + i, (int) (i % 100), i % 10, "team" + (i % 10)));
+        }
+        Page<MemberTeamDto> page = new PageImpl<>(content, PageRequest.of(3, PAGE_SIZE), 100_000);
+        PageEnvelope<MemberTeamDto> envelope = PageEnvelope.of(page);
+
+        ObjectMapper json = new ObjectMapper();
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+        for (int round = 0; round < 3; round++) {
+            measure("json  PageImpl", json, page);
+            measure("json  envelope", json, envelope);
+            measure("smile envelope", smile, envelope);
+            measure("cbor  envelope", cbor, envelope);
+        }
+    }
+
+    private void measure(String label, ObjectMapper mapper, Object body) throws Exception {
+        int bytes = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            bytes = mapper.writeValueAsBytes(body).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(body);
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("[%s] bytes=%d serialize=%.1fus/page%n", label, bytes, nanos / 1_000.0 / ITERATIONS);
+    }
+}
@@ -0,0 +1,71 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class BinaryFormatTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void smile_PageEnvelope() throws Exception {
+        assertEnvelope(request("application/x-jackson-smile", new SmileFactory()));
+    }
+
+    @Test
+    public void cbor_PageEnvelope() throws Exception {
+        assertEnvelope(request("application/cbor", new CBORFactory()));
+    }
+
+    @Test
+    public void Accept없으면_JSON_PageImpl() throws Exception {
+        mockMvc.perform(get("/v2/members").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.pageable").exists())
+                .andExpect(jsonPath("$.totalElements").exists())
+                .andExpect(jsonPath("$.hasNext").doesNotExist());
+    }
+
+    private JsonNode request(String mediaType, JsonFactory factory) throws Exception {
+        byte[] body = mockMvc.perform(get("/v2/members").param("size", "5")
+                        .accept(MediaType.parseMediaType(mediaType)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType(mediaType)))
+                .andReturn().getResponse().getContentAsByteArray();
+        return new ObjectMapper(factory).readTree(body);
+    }
+
+    private void assertEnvelope(JsonNode envelope) {
+        assertThat(envelope.get("content").isArray()).isTrue();
+        assertThat(envelope.get("page").asInt()).isEqualTo(0);
+        assertThat(envelope.get("size").asInt()).isEqualTo(5);
+        assertThat(envelope.has("hasNext")).isTrue();
+        assertThat(envelope.has("totalElements")).isTrue();
+        assertThat(envelope.has("totalPages")).isTrue();
+        //PageImpl 메타데이터 없음
+        assertThat(envelope.has("pageable")).isFalse();
+        assertThat(envelope.has("sort")).isFalse();
+    }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles({"test", "embedded"})
+class EmbeddedMemberApiLatencyBenchmark extends MemberApiLatencyBenchmark {
+
+    @Override
+    String mode() {
+        return "embedded";
+    }
+}
@@ -0,0 +1,90 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import java.util.Arrays;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /v1/members 요청당 지연시간 비교 (tcp / embedded / mem)
+ * ./gradlew benchmark 로 실행
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+abstract class MemberApiLatencyBenchmark {
+
+    static final int WARMUP = 200;
+    static final int ITERATIONS = 2000;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            Long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+            if (count > 0) {
+                return null;
+            }
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 0; i < 100; i++) {
+                Team selectedTeam = i % 2 == 0 ? teamA : teamB;
+                em.persist(new Member("member" + i, i, selectedTeam));
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void v1MembersLatency() throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            call();
+        }
+
+        long[] elapsed = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call();
+            elapsed[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(elapsed);
+        long sum = 0;
+        for (long e : elapsed) {
+            sum += e;
+        }
+        System.out.printf("[%s] /v1/members avg=%.1fus p50=%.1fus p99=%.1fus%n",
+                mode(),
+                sum / (double) ITERATIONS / 1000,
+                elapsed[ITERATIONS / 2] / 1000.0,
+                elapsed[ITERATIONS * 99 / 100] / 1000.0);
+    }
+
+    private void call() throws Exception {
+        mockMvc.perform(get("/v1/members").param("teamName", "teamA").param("ageGoe", "10"))
+                .andExpect(status().isOk());
+    }
+
+    abstract String mode();
+}
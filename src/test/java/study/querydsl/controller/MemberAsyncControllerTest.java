@@ -0,0 +1,73 @@
+package study.querydsl.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        //예산 0 --> 실행 스레드까지 넘어가면 바로 소진
+        "querydsl.query-budget.timeouts[/async/v1/members]=0ms",
+        //한도 1, 대기열 없음 --> 재디스패치에서 다시 획득하면 거절됨
+        "querydsl.admission.groups.async.path-patterns=/async/v*/members",
+        "querydsl.admission.groups.async.max-concurrent=1",
+        "querydsl.admission.groups.async.queue-size=0"
+})
+@AutoConfigureMockMvc
+class MemberAsyncControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    RequestMappingHandlerAdapter handlerAdapter;
+    @Autowired
+    ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @Test
+    public void 예산_실행스레드로_전달() throws Exception {
+        MvcResult result = mockMvc.perform(get("/async/v1/members"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("query timeout"));
+    }
+
+    @Test
+    public void 재디스패치_허가_유지후_반납() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(get("/async/v2/members"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+
+            assertThat(meterRegistry.get("admission.in.flight").tag("group", "async").gauge().value())
+                    .isEqualTo(0);
+        }
+        assertThat(meterRegistry.get("admission.rejected").tag("group", "async").counter().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void MVC비동기_실행기() {
+        assertThat(ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"))
+                .isSameAs(applicationTaskExecutor);
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void 인덱스없는정렬_400() throws Exception {
+        mockMvc.perform(get("/v3/members").param("sort", "teamName"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("unsupported sort property: teamName"));
+        mockMvc.perform(get("/v2/members").param("sort", "age").param("sort", "username"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v5/members").param("sort", "teamName"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("unsupported sort property: teamName"));
+    }
+
+    @Test
+    public void 허용된정렬_200() throws Exception {
+        mockMvc.perform(get("/v3/members").param("sort", "age,desc"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void 없는필드_400() throws Exception {
+        mockMvc.perform(get("/v1/members").param("fields", "memberId,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("unsupported field: password"));
+    }
+
+    //querydsl.server-timing.enabled 기본값 false --> 필터 없음
+    @Test
+    public void ServerTiming_꺼짐() throws Exception {
+        mockMvc.perform(get("/v3/members"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "mem"})
+class MemberStreamControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    Long teamId;
+    Long memberId;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            Team team = new Team("streamTeam");
+            em.persist(team);
+            Member member = new Member("streamMember1", 10, team);
+            em.persist(member);
+            teamId = team.getId();
+            memberId = member.getId();
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.remove(em.find(Member.class, memberId));
+            em.remove(em.find(Team.class, teamId));
+            return null;
+        });
+    }
+
+    @Test
+    public void 줄단위JSON_스트림() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream/members")
+                        .param("teamName", "streamTeam")
+                        .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //스트림이 끝날 때까지 대기
+        result.getAsyncResult(5000);
+
+        assertThat(result.getResponse().getContentAsString())
+                .contains("\"memberId\":" + memberId)
+                .contains("\"username\":\"streamMember1\"");
+    }
+
+    @Test
+    public void 공백조건_그대로비교() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream/members")
+                        .param("teamName", "streamTeam")
+                        .param("username", " ")
+                        .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        //" " 는 조건 없음이 아님 (/v1 과 같음)
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+}
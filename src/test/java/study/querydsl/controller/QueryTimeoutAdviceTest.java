@@ -0,0 +1,39 @@
+package study.querydsl.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.querydsl.repository.QueryBudget;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//예산 0 --> 첫 쿼리에서 QueryTimeoutException (username 조건은 Bloom filter 로 쿼리 없이 끝날 수 있어서 조건 없이)
+@SpringBootTest(properties = "querydsl.query-budget.timeouts[/v1/members]=0ms")
+@AutoConfigureMockMvc
+class QueryTimeoutAdviceTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void 타임아웃_503_카운트() throws Exception {
+        double before = meterRegistry.counter("member.search.timeouts", "uri", "/v1/members").count();
+
+        mockMvc.perform(get("/v1/members"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("query timeout"));
+
+        assertThat(meterRegistry.counter("member.search.timeouts", "uri", "/v1/members").count())
+                .isEqualTo(before + 1);
+        //MockMvc 는 테스트 스레드에서 실행 --> 요청이 끝나면 비워져 있어야 함
+        assertThat(QueryBudget.deadline()).isNull();
+    }
+}
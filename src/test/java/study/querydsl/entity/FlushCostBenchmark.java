@@ -0,0 +1,76 @@
+package study.querydsl.entity;
+
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 영속성 컨텍스트가 클 때 flush 비용 (바이트코드 향상 dirty tracking 유무 비교)
+ * 향상 안된 빌드(IDE 빌드 등)에서 돌리면 스냅샷 비교 비용이 나옴
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class FlushCostBenchmark {
+
+    static final int MEMBER_COUNT = 50_000;
+    static final int ROUNDS = 5;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+            for (long i = count; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("member" + i, (int) (i % 100)));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void flushLargePersistenceContext() {
+        for (int i = 0; i < ROUNDS; i++) {
+            measure(0);
+            measure(MEMBER_COUNT / 100);
+        }
+    }
+
+    //전체 회원을 로딩하고 modified 건만 바꾼 뒤 flush (롤백)
+    private void measure(int modified) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.execute(status -> {
+            List<Member> members = em.createQuery("select m from Member m", Member.class).getResultList();
+            for (int i = 0; i < modified; i++) {
+                Member member = members.get(i);
+                member.setAge(member.getAge() + 1);
+            }
+
+            long start = System.nanoTime();
+            em.flush();
+            long flushNanos = System.nanoTime() - start;
+
+            System.out.printf("[enhanced=%s] entities=%d modified=%d flush=%.2fms%n",
+                    members.get(0) instanceof SelfDirtinessTracker, members.size(), modified, flushNanos / 1_000_000.0);
+            status.setRollbackOnly();
+            return null;
+        });
+    }
+}
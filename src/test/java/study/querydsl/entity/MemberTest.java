@@ -1,5 +1,8 @@
 package study.querydsl.entity;
 
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
@@ -49,4 +52,33 @@ class MemberTest {
             System.out.println("-> member.team=" + member.getTeam());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback
+    public void changeTeam_대용량팀_컬렉션_로딩안함() {
+        Team team = new Team("bigTeam");
+        em.persist(team);
+        for (int i = 0; i < 1000; i++) {
+            em.persist(new Member("member" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Team findTeam = em.find(Team.class, team.getId());
+        Member newMember = new Member("newMember", 20, findTeam);
+        em.persist(newMember);
+        em.flush();
+
+        assertFalse(Hibernate.isInitialized(findTeam.getMembers()));
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        //Team 1건 외에 Member 엔티티는 로딩되지 않음
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(newMember.getTeam(), findTeam);
+        statistics.setStatisticsEnabled(false);
+    }
+}
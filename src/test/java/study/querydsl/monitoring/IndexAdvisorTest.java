@@ -0,0 +1,44 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class IndexAdvisorTest {
+
+    @Autowired
+    SearchWorkloadRecorder workloadRecorder;
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @AfterEach
+    public void after() {
+        workloadRecorder.clear();
+    }
+
+    @Test
+    public void 자주쓰는_조건모양_인덱스추천() {
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            workloadRecorder.record("teamName+ageGoe", start);
+        }
+        workloadRecorder.record("username", start);
+        workloadRecorder.record("ageGoe+ageLoe", start);
+
+        List<IndexAdvice> advices = indexAdvisor.advise();
+
+        assertThat(advices).extracting("indexName")
+                .contains("idx_advice_member_team_id_age", "idx_advice_team_name")
+                //idx_member_username, idx_member_age 로 이미 커버됨
+                .doesNotContain("idx_advice_member_username", "idx_advice_member_age");
+        assertThat(advices.get(0).getCalls()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,37 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestTimingTest {
+
+    Locale defaultLocale = Locale.getDefault();
+
+    @AfterEach
+    public void after() {
+        Locale.setDefault(defaultLocale);
+        RequestTiming.clear();
+    }
+
+    @Test
+    public void 소수점_Locale무관() {
+        Locale.setDefault(Locale.GERMANY);
+        RequestTiming timing = RequestTiming.start();
+        RequestTiming.query("MemberRepositoryImpl.searchPageSimple", 12_340_000);
+
+        assertThat(timing.toHeader(System.nanoTime())).startsWith("db-content;dur=12.34, db-count;dur=0.00,");
+    }
+
+    @Test
+    public void 카운트쿼리_분리() {
+        RequestTiming timing = RequestTiming.start();
+        RequestTiming.query("MemberRepositoryImpl.searchPageSimple", 1_000_000);
+        RequestTiming.query("MemberRepositoryImpl.searchPageSimple.count", 2_000_000);
+
+        assertThat(timing.toHeader(System.nanoTime())).startsWith("db-content;dur=1.00, db-count;dur=2.00,");
+    }
+}
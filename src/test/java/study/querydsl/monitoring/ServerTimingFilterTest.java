@@ -0,0 +1,50 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//꺼져 있을 때(기본값)는 MemberControllerTest 에서 확인
+@SpringBootTest(properties = "querydsl.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void 회원API_헤더() throws Exception {
+        mockMvc.perform(get("/v3/members"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("db-content;dur="),
+                        containsString("db-conn;dur="),
+                        containsString("serialize;dur="),
+                        matchesPattern(".*db-stmt;desc=\"[1-9][0-9]*\"$"))));
+    }
+
+    //searchPageSimple 카운트 쿼리는 db-count 로 (컨텐츠와 따로)
+    @Test
+    public void 카운트쿼리_db_count() throws Exception {
+        mockMvc.perform(get("/v2/members"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", not(containsString("db-count;dur=0.00,"))));
+    }
+
+    @Test
+    public void 다른경로_헤더없음() throws Exception {
+        mockMvc.perform(get("/admin/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
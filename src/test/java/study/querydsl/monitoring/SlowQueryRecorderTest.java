@@ -0,0 +1,92 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SlowQueryRecorderTest {
+
+    static final long THRESHOLD_MILLIS = 100;
+
+    DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:slow-query-test;DB_CLOSE_DELAY=-1", "sa", "");
+    SlowQueryRecorder recorder = recorder(2);
+
+    @AfterEach
+    public void after() {
+        recorder.shutdown();
+    }
+
+    @Test
+    public void 기준시간_넘은것만_기록() {
+        execute("select 1", THRESHOLD_MILLIS - 1);
+        assertThat(recorder.getSlowQueries()).isEmpty();
+
+        execute("select  2", THRESHOLD_MILLIS);
+        execute("select 2", THRESHOLD_MILLIS + 50);
+
+        //공백만 다른 SQL 은 같은 모양
+        assertThat(recorder.getSlowQueries()).hasSize(1);
+        SlowQuery slowQuery = recorder.getSlowQueries().get(0);
+        assertThat(slowQuery.getSql()).isEqualTo("select 2");
+        assertThat(slowQuery.getCount()).isEqualTo(2);
+        assertThat(slowQuery.getMaxMillis()).isEqualTo(THRESHOLD_MILLIS + 50);
+        assertThat(slowQuery.getLastMillis()).isEqualTo(THRESHOLD_MILLIS + 50);
+    }
+
+    @Test
+    public void 최대개수_오래된것부터_밀려남() {
+        execute("update a set x = 1", THRESHOLD_MILLIS);
+        execute("update b set x = 1", THRESHOLD_MILLIS);
+        //a 를 다시 사용 --> b 가 가장 오래됨
+        execute("update a set x = 1", THRESHOLD_MILLIS);
+        execute("update c set x = 1", THRESHOLD_MILLIS);
+
+        assertThat(recorder.getSlowQueries()).extracting("sql")
+                .containsExactlyInAnyOrder("update a set x = 1", "update c set x = 1");
+    }
+
+    @Test
+    public void select_실행계획_첨부() throws Exception {
+        new JdbcTemplate(dataSource).execute("create table if not exists slow_member (id bigint primary key, age int)");
+
+        execute("select * from slow_member where id = 1", THRESHOLD_MILLIS);
+        execute("update slow_member set age = 1", THRESHOLD_MILLIS);
+
+        //EXPLAIN 은 별도 스레드
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (planOf("select * from slow_member where id = 1") == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(planOf("select * from slow_member where id = 1")).containsIgnoringCase("SLOW_MEMBER");
+        assertThat(planOf("update slow_member set age = 1")).isNull();
+    }
+
+    private void execute(String sql, long millis) {
+        StatementInformation statement = new StatementInformation(null);
+        statement.setStatementQuery(sql);
+        recorder.onAfterAnyExecute(statement, TimeUnit.MILLISECONDS.toNanos(millis), null);
+    }
+
+    private String planOf(String sql) {
+        return recorder.getSlowQueries().stream()
+                .filter(slowQuery -> slowQuery.getSql().equals(sql))
+                .findFirst().get().getPlan();
+    }
+
+    private SlowQueryRecorder recorder(int maxEntries) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("dataSource", dataSource);
+        return new SlowQueryRecorder(Duration.ofMillis(THRESHOLD_MILLIS), maxEntries,
+                beanFactory.getBeanProvider(DataSource.class));
+    }
+}
@@ -0,0 +1,38 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InClauseTest {
+
+    @Test
+    public void 조각나누고_2의거듭제곱으로_채움() {
+        List<Long> keys = new ArrayList<>();
+        for (long i = 0; i < 1100; i++) {
+            keys.add(i);
+        }
+
+        List<List<Long>> chunks = InClause.paddedChunks(keys, 512);
+
+        assertThat(chunks).extracting(List::size).containsExactly(512, 512, 128);
+        //76 건 + 마지막 값 반복
+        assertThat(chunks.get(2).subList(76, 128)).containsOnly(1099L);
+    }
+
+    @Test
+    public void 중복_null_제거() {
+        List<List<String>> chunks = InClause.paddedChunks(Arrays.asList("a", null, "b", "a", "c"), 512);
+
+        assertThat(chunks).containsExactly(Arrays.asList("a", "b", "c", "c"));
+    }
+
+    @Test
+    public void 빈목록() {
+        assertThat(InClause.paddedChunks(new ArrayList<Long>(), 512)).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.SqlCapture;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@Import(SqlCapture.class)
+class MemberProjectionRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberProjectionRepository memberProjectionRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void 요청한필드만() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        List<String> sqls = SqlCapture.capture(() ->
+                result.addAll(memberProjectionRepository.search(condition, Arrays.asList("username", "memberId"))));
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsOnlyKeys("username", "memberId");
+        assertThat(result).extracting(row -> row.get("username")).containsExactlyInAnyOrder("member1", "member2");
+        //teamName 을 select 하지 않으면 team 조인 없이 member.team_id 로 거름
+        String memberSql = sqls.stream().filter(sql -> sql.contains("from member")).findFirst().orElseThrow(IllegalStateException::new);
+        assertThat(memberSql).doesNotContain("join").contains("team_id in");
+        assertThat(memberSql).doesNotContain("age");
+    }
+
+    @Test
+    public void teamName_요청시_조인() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        List<Page<Map<String, Object>>> pages = new ArrayList<>();
+        List<String> sqls = SqlCapture.capture(() ->
+                pages.add(memberProjectionRepository.searchPage(condition, PageRequest.of(0, 1), Arrays.asList("username", "teamName"))));
+        Page<Map<String, Object>> result = pages.get(0);
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).containsExactly(row("username", "member2", "teamName", "teamA"));
+        //컨텐츠 쿼리만 조인, 카운트 쿼리는 조인 없음
+        assertThat(sqls).filteredOn(sql -> sql.contains("count(")).allMatch(sql -> !sql.contains("join")).hasSize(1);
+        assertThat(sqls).filteredOn(sql -> !sql.contains("count(")).anyMatch(sql -> sql.contains("left outer join team"));
+    }
+
+    @Test
+    public void 없는필드_거절() {
+        assertThatThrownBy(() -> memberProjectionRepository.search(new MemberSearchCondition(), Collections.singletonList("password")))
+                .isInstanceOf(UnsupportedFieldException.class);
+    }
+
+    private static Map<String, Object> row(String k1, Object v1, String k2, Object v2) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(k1, v1);
+        row.put(k2, v2);
+        return row;
+    }
+}
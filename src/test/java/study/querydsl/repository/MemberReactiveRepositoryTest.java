@@ -0,0 +1,101 @@
+package study.querydsl.repository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.*;
+
+//R2DBC 는 별도 커넥션으로 읽으므로 TransactionTemplate 으로 커밋, 만든 것만 지움
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class MemberReactiveRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    MemberReactiveRepository memberReactiveRepository;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    ConnectionFactory connectionFactory;
+
+    Long teamId;
+    Long member1Id;
+    Long member2Id;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            Team team = new Team("streamTeam");
+            em.persist(team);
+            Member member1 = new Member("streamMember1", 10, team);
+            Member member2 = new Member("streamMember2", 20, team);
+            em.persist(member1);
+            em.persist(member2);
+            teamId = team.getId();
+            member1Id = member1.getId();
+            member2Id = member2.getId();
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.remove(em.find(Member.class, member1Id));
+            em.remove(em.find(Member.class, member2Id));
+            em.remove(em.find(Team.class, teamId));
+            return null;
+        });
+    }
+
+    @Test
+    public void 조건검색_스트림() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("streamTeam");
+        condition.setAgeGoe(15);
+
+        List<MemberTeamDto> result = memberReactiveRepository.search(condition).collectList().block();
+
+        assertThat(result).extracting("username").containsExactly("streamMember2");
+        assertThat(result).extracting("teamName").containsExactly("streamTeam");
+    }
+
+    @Test
+    public void 문자열조건_JPA경로와_같음() {
+        for (String username : new String[]{null, "", " ", "streamMember1", " streamMember1"}) {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setTeamName("streamTeam");
+            condition.setUsername(username);
+
+            List<MemberTeamDto> reactive = memberReactiveRepository.search(condition).collectList().block();
+            List<MemberTeamDto> jpa = transactionTemplate.execute(status -> memberJpaRepository.search(condition));
+
+            assertThat(reactive).extracting("memberId")
+                    .as("username=[%s]", username)
+                    .containsExactlyInAnyOrderElementsOf(jpa.stream().map(MemberTeamDto::getMemberId).collect(toList()));
+        }
+    }
+
+    @Test
+    public void 커넥션풀() {
+        assertThat(connectionFactory).isInstanceOf(ConnectionPool.class);
+    }
+}
@@ -0,0 +1,87 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 대량 findAll_Querydsl 조회시 read-only 유무에 따른 엔티티당 힙, flush 시간 비교
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class MemberReadOnlyBenchmark {
+
+    static final int MEMBER_COUNT = 50_000;
+    static final int ROUNDS = 5;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+            for (long i = count; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("member" + i, (int) (i % 100)));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void findAllReadOnly() {
+        for (int i = 0; i < ROUNDS; i++) {
+            //기존 방식: 쓰기 트랜잭션 + 힌트 없는 조회
+            measure("read-write", false, () -> queryFactory.selectFrom(member).fetch());
+            measure("read-only ", true, () -> memberJpaRepository.findAll_Querydsl());
+        }
+    }
+
+    private void measure(String label, boolean readOnly, Supplier<List<Member>> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.execute(status -> {
+            long before = usedHeap();
+            List<Member> members = query.get();
+            long after = usedHeap();
+
+            long start = System.nanoTime();
+            em.flush();
+            long flushNanos = System.nanoTime() - start;
+
+            System.out.printf("[%s] rows=%d heap/entity=%dB flush=%.2fms%n",
+                    label, members.size(), (after - before) / members.size(), flushNanos / 1_000_000.0);
+            return null;
+        });
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -4,9 +4,13 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.SqlCapture;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
@@ -14,13 +18,17 @@ import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@Import(SqlCapture.class)
 class MemberRepositoryTest {
     @Autowired
     EntityManager em;
@@ -88,4 +96,111 @@ class MemberRepositoryTest {
         assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void simple페이지_카운트쿼리_따로() {
+        Team team = new Team("simpleTeam");
+        em.persist(team);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("simple" + i, i * 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("simpleTeam");
+        List<Page<MemberTeamDto>> result = new ArrayList<>();
+        List<String> sqls = SqlCapture.capture(() ->
+                result.add(memberRepository.searchPageSimple(condition, PageRequest.of(0, 3))));
+
+        //컨텐츠, 카운트가 각각 QueryBudget.apply 를 거친 별도 쿼리
+        assertThat(sqls).filteredOn(sql -> sql.contains("count(")).hasSize(1);
+        assertThat(sqls).filteredOn(sql -> !sql.contains("count(") && sql.contains("limit")).hasSize(1);
+        assertThat(result.get(0).getContent()).extracting("username").containsExactly("simple1", "simple2", "simple3");
+        assertThat(result.get(0).getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    public void 정렬페이지테스트() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 20, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 10, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age"));
+
+        Page<MemberTeamDto> result = memberRepository.searchPageComplex(condition, pageRequest);
+
+        //같은 나이는 member.id 로 정렬
+        assertThat(result.getContent()).extracting("username").containsExactly("member2", "member1", "member3");
+    }
+
+    @Test
+    public void 인덱스없는정렬_거절() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        assertThatThrownBy(() -> memberRepository.searchPageSimple(condition, PageRequest.of(0, 3, Sort.by("teamName"))))
+                .isInstanceOf(UnsupportedSortException.class);
+        assertThatThrownBy(() -> memberRepository.searchPageSimple(condition, PageRequest.of(0, 3, Sort.by("age", "username"))))
+                .isInstanceOf(UnsupportedSortException.class);
+    }
+
+    @Test
+    public void 정렬_실행계획_인덱스사용() {
+        List<String> sqls = SqlCapture.capture(() -> memberRepository.searchPageComplex(new MemberSearchCondition(),
+                PageRequest.of(0, 10, Sort.by("age"))));
+
+        //QueryDSL 이 만든 컨텐츠 쿼리 그대로 실행계획 확인
+        String contentSql = sqls.stream()
+                .filter(sql -> sql.contains("order by"))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        String plan = (String) em.createNativeQuery("explain " + contentSql).getSingleResult();
+
+        //filesort 없이 인덱스 순서로 읽음
+        assertThat(plan).containsIgnoringCase("idx_member_age");
+        assertThat(plan).contains("index sorted");
+    }
+
+    @Test
+    public void slice테스트() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, PageRequest.of(0, 3));
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<MemberTeamDto> last = memberRepository.searchSlice(condition, PageRequest.of(1, 3));
+        assertThat(last.getContent()).extracting("username").containsExactly("member4");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    public void 일괄조회() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Member member = new Member("member" + (i % 300), i, teamA);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        ids.add(-1L);
+
+        //flush 없이 username 조회 먼저
+        Map<String, List<Member>> byUsername = memberRepository.findAllByUsernames(Arrays.asList("member0", "member299", "none"));
+        assertThat(byUsername).containsOnlyKeys("member0", "member299");
+        assertThat(byUsername.get("member0")).extracting("age").containsExactly(0, 300);
+
+        Map<Long, Member> byId = memberRepository.findAllByIds(ids);
+        assertThat(byId).hasSize(600);
+        assertThat(byId.get(ids.get(599)).getAge()).isEqualTo(599);
+    }
+}
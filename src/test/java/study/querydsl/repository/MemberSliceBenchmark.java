@@ -0,0 +1,82 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+/**
+ * searchSlice(카운트 없음) vs searchPageSimple(컨텐츠 + 카운트) 비교
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class MemberSliceBenchmark {
+
+    static final int MEMBER_COUNT = 100_000;
+    static final int ITERATIONS = 500;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            Long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+            if (count > 0) {
+                return null;
+            }
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("member" + i, i % 100, i % 2 == 0 ? teamA : teamB));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                    teamA = em.getReference(Team.class, teamA.getId());
+                    teamB = em.getReference(Team.class, teamB.getId());
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void sliceVsPage() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        PageRequest pageRequest = PageRequest.of(5, 20);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                memberRepository.searchPageSimple(condition, pageRequest);
+            }
+            long page = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                memberRepository.searchSlice(condition, pageRequest);
+            }
+            long slice = System.nanoTime() - start;
+
+            System.out.printf("searchPageSimple=%.1fus/op searchSlice=%.1fus/op%n",
+                    page / (double) ITERATIONS / 1000, slice / (double) ITERATIONS / 1000);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.service.TeamReassignmentService;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+//member_team 은 커밋 직전에 반영되므로 TransactionTemplate 으로 커밋하고 끝나면 지움
+//커밋하고 전체 삭제하므로 공유 tcp DB 가 아닌 mem DB 사용 (다른 테스트가 커밋한 회원과 섞이지 않게)
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class MemberTeamProjectorTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MemberTeamProjector memberTeamProjector;
+    @Autowired
+    MemberTeamViewRepository memberTeamViewRepository;
+    @Autowired
+    TeamReassignmentService teamReassignmentService;
+
+    Long teamAId;
+    Long teamBId;
+    Long member1Id;
+    Long member2Id;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member1 = new Member("member1", 10, teamA);
+            Member member2 = new Member("member2", 20, teamB);
+            em.persist(member1);
+            em.persist(member2);
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            member1Id = member1.getId();
+            member2Id = member2.getId();
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            jdbcTemplate.update("delete from member_team");
+            return null;
+        });
+    }
+
+    @Test
+    public void 저장하면_반영() {
+        assertThat(teamNameOf(member1Id)).isEqualTo("teamA");
+        assertThat(teamNameOf(member2Id)).isEqualTo("teamB");
+        assertThat(memberTeamProjector.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    public void 팀이름변경_반영() {
+        transactionTemplate.execute(status -> {
+            em.find(Team.class, teamAId).setName("teamA2");
+            return null;
+        });
+
+        assertThat(teamNameOf(member1Id)).isEqualTo("teamA2");
+        assertThat(memberTeamProjector.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    public void changeTeam_반영() {
+        transactionTemplate.execute(status -> {
+            em.find(Member.class, member1Id).changeTeam(em.find(Team.class, teamBId));
+            return null;
+        });
+
+        assertThat(teamNameOf(member1Id)).isEqualTo("teamB");
+    }
+
+    @Test
+    public void 벌크팀이동_반영() {
+        transactionTemplate.execute(status -> teamReassignmentService.reassignTeam(teamAId, teamBId));
+
+        assertThat(teamNameOf(member1Id)).isEqualTo("teamB");
+        assertThat(memberTeamProjector.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    public void 롤백하면_반영안함() {
+        transactionTemplate.execute(status -> {
+            em.find(Team.class, teamAId).setName("teamA2");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(teamNameOf(member1Id)).isEqualTo("teamA");
+    }
+
+    @Test
+    public void 불일치_검사후_재생성() {
+        jdbcTemplate.update("update member_team set team_name = 'wrong' where member_id = ?", member1Id);
+        jdbcTemplate.update("delete from member_team where member_id = ?", member2Id);
+
+        MemberTeamProjector.Consistency consistency = memberTeamProjector.check();
+        assertThat(consistency.getStale()).containsExactly(member1Id);
+        assertThat(consistency.getMissing()).containsExactly(member2Id);
+
+        assertThat(memberTeamProjector.rebuild()).isEqualTo(2);
+        assertThat(memberTeamProjector.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    public void 읽기테이블_검색() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        Page<MemberTeamDto> result = memberTeamViewRepository.searchPage(condition, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting("username").containsExactly("member2");
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    private String teamNameOf(Long memberId) {
+        return jdbcTemplate.queryForObject("select team_name from member_team where member_id = ?", String.class, memberId);
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.repository;
+
+import com.google.common.collect.Multimap;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hibernate.annotations.QueryHints.TIMEOUT_HIBERNATE;
+
+class QueryBudgetTest {
+
+    @AfterEach
+    public void after() {
+        QueryBudget.clear();
+    }
+
+    @Test
+    public void 남은시간_초단위_내림() {
+        QueryBudget.start(2500);
+        assertThat(timeoutOf(QueryBudget.apply(new JPAQuery<>()))).containsExactly(2);
+
+        QueryBudget.start(1500);
+        assertThat(timeoutOf(QueryBudget.apply(new JPAQuery<>()))).containsExactly(1);
+    }
+
+    @Test
+    public void 일초미만_타임아웃() {
+        QueryBudget.start(900);
+
+        assertThatThrownBy(() -> QueryBudget.apply(new JPAQuery<>()))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    //컨텐츠 쿼리 후 카운트 쿼리처럼 예산 안에서 여러 쿼리 --> 어느 쿼리도 timeout 끝이 데드라인을 넘지 않음
+    @Test
+    public void 연속쿼리_예산초과안함() throws Exception {
+        QueryBudget.start(2500);
+        long deadline = QueryBudget.deadline();
+
+        for (long work : new long[]{0, 1200}) {
+            Thread.sleep(work);
+            int timeoutSeconds = (Integer) timeoutOf(QueryBudget.apply(new JPAQuery<>())).iterator().next();
+            long queryStart = System.currentTimeMillis();
+            assertThat(queryStart + timeoutSeconds * 1000L).isLessThanOrEqualTo(deadline);
+        }
+
+        //남은 시간 1초 미만 --> 실행하지 않음
+        Thread.sleep(400);
+        assertThatThrownBy(() -> QueryBudget.apply(new JPAQuery<>()))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    @Test
+    public void 예산없으면_그대로() {
+        assertThat(timeoutOf(QueryBudget.apply(new JPAQuery<>()))).isEmpty();
+    }
+
+    @Test
+    public void 예산소진_타임아웃() {
+        QueryBudget.start(0);
+
+        assertThatThrownBy(() -> QueryBudget.apply(new JPAQuery<>()))
+                .isInstanceOf(QueryTimeoutException.class)
+                .hasMessage("query budget exhausted");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterable<Object> timeoutOf(JPAQuery<?> query) {
+        Multimap<String, Object> hints = (Multimap<String, Object>) ReflectionTestUtils.getField(query, "hints");
+        return hints.get(TIMEOUT_HIBERNATE);
+    }
+}
@@ -0,0 +1,167 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+//스프링 컨텍스트 없이 임베디드 H2 3개로 샤딩 검증
+class ShardedMemberRepositoryTest {
+
+    static final int SHARDS = 3;
+
+    ExecutorService executor;
+    List<DataSource> dataSources;
+    ShardedMemberRepository repository;
+
+    @BeforeEach
+    public void before() {
+        executor = Executors.newFixedThreadPool(SHARDS);
+        dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("create table team (team_id bigint primary key, name varchar(255))");
+            jdbcTemplate.execute("create table member (member_id bigint primary key, username varchar(255)," +
+                    " age int not null, team_id bigint)");
+            dataSources.add(dataSource);
+        }
+        repository = new ShardedMemberRepository(dataSources, executor);
+
+        long memberId = 100;
+        for (long teamId = 1; teamId <= 4; teamId++) {
+            Team team = new Team("team" + teamId);
+            team.setId(teamId);
+            repository.saveTeam(team);
+            for (int i = 0; i < 10; i++) {
+                Member member = new Member("member" + memberId, (int) (memberId % 37), team);
+                member.setId(memberId++);
+                repository.saveMember(member);
+            }
+        }
+        Member noTeam = new Member("noTeam", 50);
+        noTeam.setId(memberId);
+        repository.saveMember(noTeam);
+    }
+
+    @AfterEach
+    public void after() {
+        for (DataSource dataSource : dataSources) {
+            new JdbcTemplate(dataSource).execute("drop all objects");
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void 팀id로_샤드배치() {
+        //team1, team4 -> 1번 샤드, team2 -> 2번, team3 + 팀없음 -> 0번
+        assertThat(memberCount(0)).isEqualTo(11);
+        assertThat(memberCount(1)).isEqualTo(20);
+        assertThat(memberCount(2)).isEqualTo(10);
+        //팀은 모든 샤드에 복제
+        for (DataSource dataSource : dataSources) {
+            assertThat(new JdbcTemplate(dataSource).queryForObject("select count(*) from team", Long.class)).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void search_전체샤드_병합() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+
+        List<MemberTeamDto> result = repository.search(condition);
+
+        List<MemberTeamDto> expected = allMembers().stream()
+                .filter(m -> m.getAge() >= 10)
+                .collect(Collectors.toList());
+        assertThat(result).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void search_teamName_한샤드() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team2");
+
+        List<MemberTeamDto> result = repository.search(condition);
+
+        assertThat(result).hasSize(10);
+        assertThat(result).extracting("teamName").containsOnly("team2");
+    }
+
+    @Test
+    public void searchPageComplex_전역오프셋() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        List<MemberTeamDto> expected = allMembers();
+        expected.sort((a, b) -> a.getAge() != b.getAge()
+                ? Integer.compare(b.getAge(), a.getAge()) : Long.compare(b.getMemberId(), a.getMemberId()));
+
+        for (int page = 0; page < 5; page++) {
+            Page<MemberTeamDto> result = repository.searchPageComplex(condition,
+                    PageRequest.of(page, 7, Sort.by(Sort.Direction.DESC, "age")));
+
+            assertThat(result.getTotalElements()).isEqualTo(41);
+            assertThat(result.getContent())
+                    .containsExactlyElementsOf(expected.subList(page * 7, Math.min(page * 7 + 7, 41)));
+        }
+    }
+
+    @Test
+    public void 허용안된정렬_거절() {
+        assertThatThrownBy(() -> repository.searchPageComplex(new MemberSearchCondition(),
+                PageRequest.of(0, 10, Sort.by("teamName"))))
+                .isInstanceOf(UnsupportedSortException.class)
+                .hasMessage("unsupported sort property: teamName");
+    }
+
+    @Test
+    public void searchSlice_마지막페이지() {
+        Slice<MemberTeamDto> result = repository.searchSlice(new MemberSearchCondition(), PageRequest.of(4, 10));
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    public void findByUsername() {
+        List<Member> result = repository.findByUsername("member125");
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(125L);
+        assertThat(result.get(0).getTeam().getName()).isEqualTo("team3");
+    }
+
+    private long memberCount(int shard) {
+        return new JdbcTemplate(dataSources.get(shard)).queryForObject("select count(*) from member", Long.class);
+    }
+
+    //모든 샤드의 회원을 member_id 순으로
+    private List<MemberTeamDto> allMembers() {
+        List<MemberTeamDto> result = new ArrayList<>();
+        for (DataSource dataSource : dataSources) {
+            result.addAll(new JdbcTemplate(dataSource).query(MemberSearchSql.SELECT, (rs, rowNum) -> new MemberTeamDto(
+                    rs.getLong("member_id"), rs.getString("username"), rs.getInt("age"),
+                    (Long) rs.getObject("team_id"), rs.getString("team_name"))));
+        }
+        result.sort((a, b) -> Long.compare(a.getMemberId(), b.getMemberId()));
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+//Team 변경은 TeamChangeListener 가 커밋 후에 비우므로 TransactionTemplate 으로 커밋, 만든 팀만 지움
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class TeamIdResolverTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    TeamIdResolver teamIdResolver;
+    @Autowired
+    ObjectProvider<JPAQueryFactory> queryFactory;
+
+    List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            for (Long id : created) {
+                Team team = em.find(Team.class, id);
+                if (team != null) {
+                    em.remove(team);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void 팀생성_비움() {
+        Long teamA = persist("cacheTeam");
+        assertThat(teamIdResolver.resolve("cacheTeam")).containsExactly(teamA);
+
+        Long teamA2 = persist("cacheTeam");
+
+        assertThat(teamIdResolver.resolve("cacheTeam")).containsExactlyInAnyOrder(teamA, teamA2);
+    }
+
+    @Test
+    public void 팀이름변경_비움() {
+        Long teamId = persist("cacheTeam");
+        assertThat(teamIdResolver.resolve("cacheTeam")).containsExactly(teamId);
+
+        transactionTemplate.execute(status -> {
+            em.find(Team.class, teamId).setName("cacheTeam2");
+            return null;
+        });
+
+        assertThat(teamIdResolver.resolve("cacheTeam")).isEmpty();
+        assertThat(teamIdResolver.resolve("cacheTeam2")).containsExactly(teamId);
+    }
+
+    @Test
+    public void 팀삭제_비움() {
+        Long teamId = persist("cacheTeam");
+        assertThat(teamIdResolver.resolve("cacheTeam")).containsExactly(teamId);
+
+        transactionTemplate.execute(status -> {
+            em.remove(em.find(Team.class, teamId));
+            return null;
+        });
+
+        assertThat(teamIdResolver.resolve("cacheTeam")).isEmpty();
+    }
+
+    @Test
+    public void 없는팀명_캐시안함() {
+        //리스너가 비우지 않는 별도 인스턴스
+        TeamIdResolver resolver = new TeamIdResolver(queryFactory, 10);
+        assertThat(resolver.resolve("lateTeam")).isEmpty();
+        assertThat(resolver.size()).isEqualTo(0);
+
+        Long teamId = persist("lateTeam");
+
+        assertThat(resolver.resolve("lateTeam")).containsExactly(teamId);
+    }
+
+    @Test
+    public void 크기제한() {
+        TeamIdResolver resolver = new TeamIdResolver(queryFactory, 2);
+        persist("lru1");
+        persist("lru2");
+        Long lru3 = persist("lru3");
+
+        resolver.resolve("lru1");
+        resolver.resolve("lru2");
+        resolver.resolve("lru3");
+
+        assertThat(resolver.size()).isEqualTo(2);
+        assertThat(resolver.resolve("lru3")).containsExactly(lru3);
+    }
+
+    private Long persist(String name) {
+        Long id = transactionTemplate.execute(status -> {
+            Team team = new Team(name);
+            em.persist(team);
+            return team.getId();
+        });
+        created.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * searchPageComplex 카운트 쿼리: team 조인 + team.name 조건 vs member.team.id in (...)
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "mem"})
+class TeamNamePushdownBenchmark {
+
+    static final int MEMBER_COUNT = 100_000;
+    static final int TEAM_COUNT = 100;
+    static final int ITERATIONS = 200;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    TeamIdResolver teamIdResolver;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.execute(status -> {
+            Long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+            if (count > 0) {
+                return null;
+            }
+            Long[] teamIds = new Long[TEAM_COUNT];
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teamIds[i] = team.getId();
+            }
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("member" + i, i % 100, em.getReference(Team.class, teamIds[i % TEAM_COUNT])));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void countWithJoinVsPushdown() {
+        for (int round = 0; round < 3; round++) {
+            double join = measure(() -> queryFactory
+                    .select(member)
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(team.name.eq("team7"), member.age.goe(10))
+                    .fetchCount());
+            double pushdown = measure(() -> {
+                List<Long> teamIds = teamIdResolver.resolve("team7");
+                return queryFactory
+                        .select(member)
+                        .from(member)
+                        .where(member.team.id.in(teamIds), member.age.goe(10))
+                        .fetchCount();
+            });
+            System.out.printf("count join=%.1fus/op pushdown=%.1fus/op%n", join, pushdown);
+        }
+    }
+
+    private double measure(LongSupplier count) {
+        return transactionTemplate.execute(status -> {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                count.getAsLong();
+            }
+            return (System.nanoTime() - start) / (double) ITERATIONS / 1000;
+        });
+    }
+}
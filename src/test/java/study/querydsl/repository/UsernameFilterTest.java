@@ -0,0 +1,86 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+//필터가 실제로 있는 회원을 숨기지 않는지 (false negative 없음) 리포지토리 단위로 확인
+@SpringBootTest
+class UsernameFilterTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    UsernameFilter usernameFilter;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberRepository memberRepository;
+
+    List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            createdIds.forEach(id -> em.remove(em.find(Member.class, id)));
+            return null;
+        });
+    }
+
+    @Test
+    public void 같은트랜잭션_저장후_조회() {
+        usernameFilter.rebuild();
+
+        List<Member> result = transactionTemplate.execute(status -> {
+            Member member = new Member("sameTxMember", 10);
+            memberJpaRepository.save(member);
+            createdIds.add(member.getId());
+            //flush 없이 바로 조회 --> 필터 대신 auto flush 후 쿼리
+            assertThat(memberRepository.findByUsername("sameTxMember")).hasSize(1);
+            return memberJpaRepository.findByUsername_Querydsl("sameTxMember");
+        });
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    public void 커밋전에_시작한_재생성() throws Exception {
+        usernameFilter.rebuild();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.execute(status -> {
+                Member member = new Member("rebuildRaceMember", 10);
+                em.persist(member);
+                em.flush();
+                createdIds.add(member.getId());
+                //다른 커넥션에서 재생성 --> 커밋 전이라 스냅샷에 없음
+                try {
+                    executor.submit(usernameFilter::rebuild).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return null;
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        //커밋 후에 필터에 들어가므로 보임
+        assertThat(usernameFilter.mightExist("rebuildRaceMember")).isTrue();
+        assertThat(memberJpaRepository.findByUsername("rebuildRaceMember")).hasSize(1);
+        assertThat(memberRepository.findByUsername("rebuildRaceMember")).hasSize(1);
+    }
+}
@@ -0,0 +1,48 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SearchKeyTest {
+
+    @Test
+    public void 빈문자열_조건없음과_같은키() {
+        MemberSearchService.SearchKey missing = MemberSearchService.SearchKey.of("search", condition(null), null);
+        MemberSearchService.SearchKey empty = MemberSearchService.SearchKey.of("search", condition(""), null);
+
+        assertThat(empty).isEqualTo(missing);
+        assertThat(empty.toCondition().getUsername()).isNull();
+    }
+
+    //공백은 리포지토리에서 그대로 비교되므로 다른 검색
+    @Test
+    public void 공백있는조건_다른키() {
+        MemberSearchService.SearchKey trimmed = MemberSearchService.SearchKey.of("search", condition("member1"), null);
+        MemberSearchService.SearchKey padded = MemberSearchService.SearchKey.of("search", condition(" member1"), null);
+        MemberSearchService.SearchKey blank = MemberSearchService.SearchKey.of("search", condition(" "), null);
+
+        assertThat(padded).isNotEqualTo(trimmed);
+        assertThat(blank).isNotEqualTo(MemberSearchService.SearchKey.of("search", condition(null), null));
+    }
+
+    @Test
+    public void 실행조건_정규화된키와같음() {
+        MemberSearchCondition condition = condition(" member1");
+        condition.setTeamName("");
+        condition.setAgeGoe(10);
+
+        MemberSearchCondition executed = MemberSearchService.SearchKey.of("search", condition, null).toCondition();
+
+        assertThat(executed.getUsername()).isEqualTo(" member1");
+        assertThat(executed.getTeamName()).isNull();
+        assertThat(executed.getAgeGoe()).isEqualTo(10);
+    }
+
+    private MemberSearchCondition condition(String username) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(username);
+        return condition;
+    }
+}
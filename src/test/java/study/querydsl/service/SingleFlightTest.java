@@ -0,0 +1,61 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    public void 동시호출_한번만실행() throws Exception {
+        AtomicInteger coalesced = new AtomicInteger();
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(coalesced::incrementAndGet);
+
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("teamA", () -> {
+                executions.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "result";
+            })));
+        }
+        //첫 호출이 실행중인 동안 나머지가 합류할 때까지 대기
+        while (coalesced.get() < 4) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        for (Future<String> future : futures) {
+            assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void 끝난뒤에는_다시실행() {
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(() -> { });
+
+        singleFlight.execute("key", executions::incrementAndGet);
+        singleFlight.execute("key", executions::incrementAndGet);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+}
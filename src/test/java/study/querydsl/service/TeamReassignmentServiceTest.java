@@ -0,0 +1,98 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class TeamReassignmentServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TeamReassignmentService teamReassignmentService;
+
+    @Test
+    public void reassignTeam() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 25; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+        em.persist(new Member("memberB", 30, teamB));
+
+        TeamReassignmentService.ReassignmentResult result =
+                teamReassignmentService.reassign(member.team.id.eq(teamA.getId()), teamB.getId(), 10);
+
+        assertThat(result.getMovedCount()).isEqualTo(25);
+        assertThat(result.getMovedFromTeam()).containsEntry(teamA.getId(), 25L);
+
+        Team findTeamA = em.find(Team.class, teamA.getId());
+        Team findTeamB = em.find(Team.class, teamB.getId());
+        assertThat(findTeamA.getMembers()).isEmpty();
+        assertThat(findTeamB.getMembers()).hasSize(26);
+    }
+
+    @Test
+    public void reassignByPredicate() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30));
+
+        TeamReassignmentService.ReassignmentResult result =
+                teamReassignmentService.reassign(member.age.goe(20), teamB.getId());
+
+        assertThat(result.getMovedCount()).isEqualTo(2);
+        assertThat(result.getMovedFromTeam())
+                .containsEntry(teamA.getId(), 1L)
+                .containsEntry(null, 1L);
+    }
+
+    //em.clear() 를 쓰지 않으므로 호출한 쪽이 들고 있는 다른 엔티티는 계속 영속 상태
+    @Test
+    public void 관계없는엔티티_영속유지() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+        Member moved = new Member("member1", 10, teamA);
+        Member other = new Member("member2", 20, teamC);
+        em.persist(moved);
+        em.persist(other);
+
+        teamReassignmentService.reassignTeam(teamA.getId(), teamB.getId());
+
+        assertThat(em.contains(teamC)).isTrue();
+        assertThat(em.contains(other)).isTrue();
+        //옮겨진 회원은 분리 --> 다시 조회하면 새 팀
+        assertThat(em.contains(moved)).isFalse();
+        assertThat(em.find(Member.class, moved.getId()).getTeam().getId()).isEqualTo(teamB.getId());
+        assertThat(teamA.getMembers()).isEmpty();
+        assertThat(teamB.getMembers()).extracting("username").containsExactly("member1");
+
+        //분리되지 않았으므로 변경이 flush 됨
+        teamC.setName("teamC2");
+        other.setAge(21);
+        em.flush();
+        em.clear();
+        assertThat(em.find(Team.class, teamC.getId()).getName()).isEqualTo("teamC2");
+        assertThat(em.find(Member.class, other.getId()).getAge()).isEqualTo(21);
+    }
+}